@@ -0,0 +1,54 @@
+package com.procureflow.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency Recorder
+ * Lock-free histogram with 100µs buckets up to 30 seconds; slower samples
+ * land in the last bucket. Sized for millions of deliveries without keeping
+ * individual samples.
+ */
+public class LatencyRecorder {
+
+    private static final long BUCKET_NANOS = 100_000L;
+    private static final int BUCKETS = 300_000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        int bucket = (int) Math.min(BUCKETS - 1, Math.max(0, nanos / BUCKET_NANOS));
+        counts.incrementAndGet(bucket);
+        total.incrementAndGet();
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile, in milliseconds
+     */
+    public double percentileMillis(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return (i + 1) * BUCKET_NANOS / 1_000_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+}
@@ -0,0 +1,78 @@
+package com.procureflow.loadtest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load Test Options
+ * Command line settings in --name=value form
+ */
+public class LoadTestOptions {
+
+    private String baseUrl = "http://localhost:8080";
+    private int sessions = 1000;
+    private int connectConcurrency = 50;
+    private int broadcasts = 1000;
+    private int broadcastRate = 50;
+    private List<String> transports = List.of("native", "sockjs");
+    private String username;
+    private String password;
+    private String token;
+    private String reportFile;
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.baseUrl = values.getOrDefault("base-url", options.baseUrl).replaceAll("/+$", "");
+        options.sessions = Integer.parseInt(values.getOrDefault("sessions", String.valueOf(options.sessions)));
+        options.connectConcurrency = Integer.parseInt(values.getOrDefault("connect-concurrency", String.valueOf(options.connectConcurrency)));
+        options.broadcasts = Integer.parseInt(values.getOrDefault("broadcasts", String.valueOf(options.broadcasts)));
+        options.broadcastRate = Integer.parseInt(values.getOrDefault("broadcast-rate", String.valueOf(options.broadcastRate)));
+        if (values.containsKey("transport")) {
+            String transport = values.get("transport");
+            options.transports = "both".equals(transport) ? List.of("native", "sockjs") : List.of(transport);
+        }
+        options.username = values.get("username");
+        options.password = values.get("password");
+        options.token = values.get("token");
+        options.reportFile = values.get("report");
+
+        for (String transport : options.transports) {
+            if (!"native".equals(transport) && !"sockjs".equals(transport)) {
+                throw new IllegalArgumentException("Unknown transport: " + transport);
+            }
+        }
+        return options;
+    }
+
+    public String getBaseUrl() { return baseUrl; }
+    public int getSessions() { return sessions; }
+    public int getConnectConcurrency() { return connectConcurrency; }
+    public int getBroadcasts() { return broadcasts; }
+    public int getBroadcastRate() { return broadcastRate; }
+    public List<String> getTransports() { return transports; }
+    public String getUsername() { return username; }
+    public String getPassword() { return password; }
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public String getReportFile() { return reportFile; }
+
+    /**
+     * WebSocket URL of the STOMP endpoint for a transport
+     */
+    public String endpointUrl(String transport) {
+        if ("sockjs".equals(transport)) {
+            return baseUrl + "/ws";
+        }
+        return baseUrl.replaceFirst("^http", "ws") + "/websocket";
+    }
+}
@@ -0,0 +1,103 @@
+package com.procureflow.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Server Client
+ * REST calls against the node under test: sign-in, event simulation and actuator metrics
+ */
+public class ServerClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private String token;
+
+    public ServerClient(String baseUrl, String token) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+    }
+
+    /**
+     * Sign in and keep the JWT for later calls
+     */
+    public String signIn(String usernameOrEmail, String password) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("usernameOrEmail", usernameOrEmail, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in failed with HTTP " + response.statusCode());
+        }
+        token = objectMapper.readTree(response.body()).path("token").asText();
+        return token;
+    }
+
+    /**
+     * Drive one broadcast through /api/realtime/simulate-workflow, tagged with the given id
+     */
+    public void simulateWorkflow(long requestId) throws IOException, InterruptedException {
+        String query = "requestId=" + requestId
+                + "&fromStatus=PENDING&toStatus=UNDER_REVIEW&reason=" + URLEncoder.encode("load test", StandardCharsets.UTF_8);
+        HttpResponse<String> response = httpClient.send(
+                authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/api/realtime/simulate-workflow?" + query)))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("simulate-workflow failed with HTTP " + response.statusCode());
+        }
+    }
+
+    /**
+     * Current value of an actuator metric, or NaN when the node does not expose it
+     */
+    public double metric(String name, String tag) {
+        String url = baseUrl + "/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag);
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    authorized(HttpRequest.newBuilder(URI.create(url))).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Double.NaN;
+            }
+            JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+            return measurements.isArray() && !measurements.isEmpty() ? measurements.get(0).path("value").asDouble() : Double.NaN;
+        } catch (IOException e) {
+            return Double.NaN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Double.NaN;
+        }
+    }
+
+    public double heapUsedBytes() {
+        return metric("jvm.memory.used", "area:heap");
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        if (token != null && !token.isEmpty()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.timeout(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,325 @@
+package com.procureflow.loadtest;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocket Load Test
+ * Opens N STOMP sessions against /websocket and /ws (SockJS), subscribes them to
+ * the dashboard topics, drives broadcasts through /api/realtime/simulate-workflow
+ * and reports connect rate, delivery latency, heap per session and CPU per 1k broadcasts.
+ *
+ * Usage: java -jar target/procureflow-loadtest.jar --sessions=5000 --transport=both
+ *        --username=demo@procureflow.com --password=demo123 --report=capacity-report.md
+ */
+public class WebSocketLoadTest {
+
+    private static final String UPDATES_TOPIC = "/topic/dashboard/updates";
+    private static final String STATISTICS_TOPIC = "/topic/dashboard/statistics";
+    private static final long DELIVERY_TIMEOUT_MILLIS = 30_000;
+
+    private final LoadTestOptions options;
+    private final ServerClient server;
+
+    public WebSocketLoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.server = new ServerClient(options.getBaseUrl(), options.getToken());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        WebSocketLoadTest loadTest = new WebSocketLoadTest(options);
+
+        if (options.getToken() == null && options.getUsername() != null) {
+            options.setToken(loadTest.server.signIn(options.getUsername(), options.getPassword()));
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("# WebSocket capacity report\n\n")
+              .append("- Node: ").append(options.getBaseUrl()).append('\n')
+              .append("- Run at: ").append(LocalDateTime.now()).append('\n')
+              .append("- Sessions: ").append(options.getSessions())
+              .append(", broadcasts: ").append(options.getBroadcasts())
+              .append(" at ").append(options.getBroadcastRate()).append("/s\n\n")
+              .append("| Transport | Connected | Failed | Connect rate (sessions/s) | Deliveries | p50 (ms) | p99 (ms) | p99.9 (ms) | Max (ms) | Heap per session (KB) | CPU per 1k broadcasts (ms) |\n")
+              .append("|---|---|---|---|---|---|---|---|---|---|---|\n");
+
+        for (String transport : options.getTransports()) {
+            PhaseResult result = loadTest.run(transport);
+            report.append(result.toMarkdownRow()).append('\n');
+            System.out.println(result);
+        }
+
+        System.out.println();
+        System.out.println(report);
+        if (options.getReportFile() != null) {
+            Files.writeString(Path.of(options.getReportFile()), report.toString());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * One connect, broadcast and teardown cycle over a single transport
+     */
+    public PhaseResult run(String transport) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(clientFor(transport));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        LatencyRecorder latency = new LatencyRecorder();
+        Map<Long, Long> sentAt = new ConcurrentHashMap<>();
+        AtomicLong deliveries = new AtomicLong();
+        Queue<StompSession> sessions = new ConcurrentLinkedQueue<>();
+        AtomicLong failures = new AtomicLong();
+
+        double heapBefore = server.heapUsedBytes();
+
+        // Connect phase, bounded number of handshakes in flight
+        Semaphore inFlight = new Semaphore(options.getConnectConcurrency());
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < options.getSessions(); i++) {
+            inFlight.acquire();
+            try {
+                stompClient.connectAsync(options.endpointUrl(transport), handshakeHeaders(), connectHeaders(), new StompSessionHandlerAdapter() {
+                            @Override
+                            public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                                        byte[] payload, Throwable exception) {
+                                failures.incrementAndGet();
+                            }
+                        })
+                        .whenComplete((session, error) -> {
+                            try {
+                                if (error != null) {
+                                    failures.incrementAndGet();
+                                } else {
+                                    session.subscribe(UPDATES_TOPIC, deliveryHandler(sentAt, latency, deliveries));
+                                    session.subscribe(STATISTICS_TOPIC, ignoringHandler());
+                                    sessions.add(session);
+                                }
+                            } catch (RuntimeException e) {
+                                // Subscribe failed on a connected session; it is not counted or kept
+                                failures.incrementAndGet();
+                                session.disconnect();
+                            } finally {
+                                // A lost permit would hang the final acquire below
+                                inFlight.release();
+                            }
+                        });
+            } catch (RuntimeException e) {
+                // Refused before the handshake started, so whenComplete never runs
+                failures.incrementAndGet();
+                inFlight.release();
+            }
+        }
+        inFlight.acquire(options.getConnectConcurrency());
+        double connectSeconds = (System.nanoTime() - connectStart) / 1e9;
+        int connected = sessions.size();
+
+        // Let the node settle before sampling heap
+        Thread.sleep(2000);
+        double heapAfter = server.heapUsedBytes();
+
+        // Broadcast phase, paced POSTs with server CPU sampled once a second
+        CpuSampler cpuSampler = new CpuSampler(server);
+        cpuSampler.start();
+        ExecutorService senders = Executors.newFixedThreadPool(16);
+        long base = System.currentTimeMillis() * 1000;
+        long intervalNanos = 1_000_000_000L / Math.max(1, options.getBroadcastRate());
+        long next = System.nanoTime();
+        for (int i = 0; i < options.getBroadcasts(); i++) {
+            long requestId = base + i;
+            next += intervalNanos;
+            senders.execute(() -> {
+                sentAt.put(requestId, System.nanoTime());
+                try {
+                    server.simulateWorkflow(requestId);
+                } catch (Exception e) {
+                    sentAt.remove(requestId);
+                }
+            });
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+        }
+        senders.shutdown();
+        senders.awaitTermination(1, TimeUnit.MINUTES);
+
+        long expected = (long) sentAt.size() * connected;
+        long deadline = System.currentTimeMillis() + DELIVERY_TIMEOUT_MILLIS;
+        while (deliveries.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        double cpuMillis = cpuSampler.stop();
+
+        // Teardown
+        for (StompSession session : sessions) {
+            try {
+                session.disconnect();
+            } catch (Exception ignored) {
+                // Session already closed by the node
+            }
+        }
+        stompClient.stop();
+
+        return new PhaseResult(transport, connected, failures.get(), connected / connectSeconds,
+                deliveries.get(), expected, latency,
+                connected == 0 ? Double.NaN : (heapAfter - heapBefore) / connected / 1024.0,
+                sentAt.isEmpty() ? Double.NaN : cpuMillis / sentAt.size() * 1000.0);
+    }
+
+    private WebSocketClient clientFor(String transport) {
+        StandardWebSocketClient webSocketClient = new StandardWebSocketClient();
+        if ("sockjs".equals(transport)) {
+            return new SockJsClient(List.of(new WebSocketTransport(webSocketClient)));
+        }
+        return webSocketClient;
+    }
+
+    private WebSocketHttpHeaders handshakeHeaders() {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        if (options.getToken() != null) {
+            headers.add("Authorization", "Bearer " + options.getToken());
+        }
+        return headers;
+    }
+
+    private StompHeaders connectHeaders() {
+        StompHeaders headers = new StompHeaders();
+        if (options.getToken() != null) {
+            headers.add("Authorization", "Bearer " + options.getToken());
+        }
+        return headers;
+    }
+
+    private StompFrameHandler deliveryHandler(Map<Long, Long> sentAt, LatencyRecorder latency, AtomicLong deliveries) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                long receivedAt = System.nanoTime();
+                if (payload instanceof Map<?, ?> notification
+                        && notification.get("data") instanceof Map<?, ?> data
+                        && data.get("requestId") instanceof Number requestId) {
+                    Long sent = sentAt.get(requestId.longValue());
+                    if (sent != null) {
+                        latency.record(receivedAt - sent);
+                        deliveries.incrementAndGet();
+                    }
+                }
+            }
+        };
+    }
+
+    private StompFrameHandler ignoringHandler() {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+            }
+        };
+    }
+
+    /**
+     * Integrates process.cpu.usage x system.cpu.count over the broadcast window.
+     * Micrometer 1.12 has no cumulative process CPU time gauge, so this is a
+     * one-second resolution estimate.
+     */
+    private static final class CpuSampler {
+
+        private final ServerClient server;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private double cpuMillis;
+
+        CpuSampler(ServerClient server) {
+            this.server = server;
+            this.thread = new Thread(this::sample, "cpu-sampler");
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        double stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            return cpuMillis;
+        }
+
+        private void sample() {
+            double cpus = server.metric("system.cpu.count", null);
+            if (Double.isNaN(cpus)) {
+                cpus = 1;
+            }
+            long last = System.nanoTime();
+            while (running) {
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                double usage = server.metric("process.cpu.usage", null);
+                long now = System.nanoTime();
+                if (!Double.isNaN(usage)) {
+                    cpuMillis += usage * cpus * (now - last) / 1_000_000.0;
+                }
+                last = now;
+            }
+        }
+    }
+
+    /**
+     * Measurements for one transport
+     */
+    public record PhaseResult(String transport, int connected, long failed, double connectRate,
+                              long deliveries, long expectedDeliveries, LatencyRecorder latency,
+                              double heapPerSessionKb, double cpuMillisPer1k) {
+
+        String toMarkdownRow() {
+            return String.format("| %s | %d | %d | %.1f | %d/%d | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f |",
+                    transport, connected, failed, connectRate, deliveries, expectedDeliveries,
+                    latency.percentileMillis(50), latency.percentileMillis(99), latency.percentileMillis(99.9),
+                    latency.getMaxMillis(), heapPerSessionKb, cpuMillisPer1k);
+        }
+
+        @Override
+        public String toString() {
+            return transport + ": " + toMarkdownRow();
+        }
+    }
+}
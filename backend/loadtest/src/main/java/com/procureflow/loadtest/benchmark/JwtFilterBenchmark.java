@@ -0,0 +1,132 @@
+package com.procureflow.loadtest.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT Filter Benchmark
+ * Per-request cost of authenticating a bearer token in AuthTokenFilter. The old
+ * path derives the key and builds a parser twice, once in validateJwtToken and
+ * once in getUserNameFromJwtToken, then loads the user (here a cache hit). The
+ * current path verifies once with the parser JwtVerifier builds at startup and
+ * rebuilds the principal from the signed claims like JwtPrincipalResolver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "procureFlowSecretKeyForBenchmarksOnly-0123456789abcdef";
+
+    private String token;
+    private JwtParser parser;
+    private final Set<String> revokedIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final Map<String, UserDetails> userCache = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject("asha.verma")
+                .claim("uid", 42L)
+                .claim("email", "asha.verma@procureflow.com")
+                .claim("firstName", "Asha")
+                .claim("lastName", "Verma")
+                .claim("department", "IT")
+                .claim("roles", List.of("ROLE_USER", "ROLE_MANAGER"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), Jwts.SIG.HS256)
+                .compact();
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        userCache.put("asha.verma", User.withUsername("asha.verma").password("")
+                .authorities("ROLE_USER", "ROLE_MANAGER").build());
+    }
+
+    @Benchmark
+    public UserDetails doubleParse() {
+        if (!validateJwtToken(token)) {
+            return null;
+        }
+        String username = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+        return userCache.get(username);
+    }
+
+    @Benchmark
+    public UserDetails verifyAndResolve() {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        return resolve(claims);
+    }
+
+    private boolean validateJwtToken(String authToken) {
+        try {
+            Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build()
+                    .parseSignedClaims(authToken);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // JwtPrincipalResolver in self-contained mode: revocation lookups, then claims to principal
+    private UserDetails resolve(Claims claims) {
+        if (claims.getId() != null && revokedIds.contains(claims.getId())) {
+            return null;
+        }
+        long userId = ((Number) claims.get("uid")).longValue();
+        Long revokedAt = revokedBefore.get(userId);
+        if (revokedAt != null && claims.getIssuedAt().getTime() < revokedAt) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = claims.get("roles") instanceof List<?> roles
+                ? roles.stream().map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role))).toList()
+                : List.of();
+        // UserPrincipal also carries these; read them so the claim lookups are paid
+        claims.get("email", String.class);
+        claims.get("firstName", String.class);
+        claims.get("lastName", String.class);
+        claims.get("department", String.class);
+        return new User(claims.getSubject(), "", authorities);
+    }
+}
@@ -0,0 +1,217 @@
+package com.procureflow.loadtest.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Payload Encoding Benchmark
+ * Serialization CPU per message for the two most frequent real-time payloads, a
+ * purchase request NotificationDTO and a StatisticsUpdateDTO, as JSON (the
+ * default STOMP converter) and CBOR (CborMessageConverter), each with and
+ * without permessage-deflate. Deflate keeps its context across messages, as
+ * Tomcat does unless no_context_takeover is negotiated; each message differs in
+ * its ids, counters and timestamps, like consecutive events on a topic. Bytes
+ * per message for every combination are printed once per fork before
+ * measurement starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    @Param({"notification", "statistics"})
+    private String payload;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean deflate;
+
+    private final byte[] buffer = new byte[64 * 1024];
+
+    private Notification notification;
+    private StatisticsUpdate statisticsUpdate;
+    private long counter;
+    private ObjectMapper mapper;
+    private Deflater deflater;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        notification = notification();
+        statisticsUpdate = statistics();
+        mapper = "cbor".equals(format) ? cborMapper() : jsonMapper();
+        deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        // Deflate shrinks later messages further once its window holds earlier ones
+        int first = encode().length;
+        long total = 0;
+        for (int i = 0; i < 100; i++) {
+            total += encode().length;
+        }
+        System.out.printf("%n%s/%s/deflate=%s: %d bytes first message, %d bytes average over the next 100%n",
+                payload, format, deflate, first, total / 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deflater.end();
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        byte[] bytes = mapper.writeValueAsBytes(next());
+        if (!deflate) {
+            return bytes;
+        }
+        // permessage-deflate: raw deflate, sync flush, trailing 00 00 ff ff dropped
+        deflater.setInput(bytes);
+        int length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+        return Arrays.copyOf(buffer, Math.max(0, length - 4));
+    }
+
+    // The next event on the topic: new sequence, ids, counters and timestamps
+    @SuppressWarnings("unchecked")
+    private Object next() {
+        counter++;
+        if ("notification".equals(payload)) {
+            Map<String, Object> request = (Map<String, Object>) notification.data;
+            long id = 10452L + counter;
+            request.put("id", id);
+            request.put("requestNumber", "PR-2026-0" + id);
+            request.put("title", "Laptops for onboarding batch " + counter);
+            request.put("totalAmount", BigDecimal.valueOf(118_500_000L + counter * 731, 2));
+            request.put("updatedAt", notification.timestamp.plusSeconds(counter * 7));
+            notification.title = "Laptops for onboarding batch " + counter;
+            notification.sequence = 918273L + counter;
+            return notification;
+        }
+        Map<String, Object> statistics = statisticsUpdate.statistics;
+        statistics.put("totalRequests", 10452L + counter);
+        statistics.put("pendingRequests", 318L + counter % 17);
+        statistics.put("totalValue", BigDecimal.valueOf(48_291_355_000L + counter * 9_173, 2));
+        statistics.put("activeSessions", 1240 + (int) (counter % 97));
+        statisticsUpdate.sequence = 918274L + counter;
+        return statisticsUpdate;
+    }
+
+    private static ObjectMapper jsonMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static ObjectMapper cborMapper() {
+        return CBORMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static Notification notification() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 12, 10, 15, 30);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("id", 10452L);
+        request.put("requestNumber", "PR-2026-010452");
+        request.put("title", "Laptops for onboarding batch 12");
+        request.put("description", "Twelve developer laptops with docking stations for the March joiners");
+        request.put("department", "IT");
+        request.put("priority", "HIGH");
+        request.put("status", "UNDER_REVIEW");
+        request.put("totalAmount", new BigDecimal("1185000.00"));
+        request.put("justification", "Replacement cycle and new hires");
+        request.put("expectedDeliveryDate", now.plusDays(21));
+        request.put("createdAt", now.minusHours(3));
+        request.put("updatedAt", now);
+        request.put("requestedById", 42L);
+        request.put("requestedByName", "Asha Verma");
+        request.put("requestedByEmail", "asha.verma@procureflow.com");
+        request.put("assignedToId", 7L);
+        request.put("assignedToName", "Rahul Mehta");
+
+        Notification notification = new Notification();
+        notification.type = "PURCHASE_REQUEST_UPDATE";
+        notification.title = "Purchase Request Updated";
+        notification.message = "Request 'Laptops for onboarding batch 12' was updated";
+        notification.data = request;
+        notification.timestamp = now;
+        notification.sequence = 918273L;
+        notification.action = "UPDATED";
+        return notification;
+    }
+
+    private static StatisticsUpdate statistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalRequests", 10452L);
+        statistics.put("pendingRequests", 318L);
+        statistics.put("approvedRequests", 7421L);
+        statistics.put("rejectedRequests", 512L);
+        statistics.put("inProgressRequests", 204L);
+        statistics.put("completedRequests", 1997L);
+        statistics.put("totalValue", new BigDecimal("482913550.00"));
+        statistics.put("averageApprovalHours", 18.4);
+        statistics.put("activeSessions", 1240);
+        statistics.put("requestsToday", 57L);
+
+        StatisticsUpdate update = new StatisticsUpdate();
+        update.type = "STATISTICS_UPDATE";
+        update.statistics = statistics;
+        update.timestamp = LocalDateTime.of(2026, 3, 12, 10, 15, 30);
+        update.sequence = 918274L;
+        return update;
+    }
+
+    /**
+     * Fields of NotificationDTO, in declaration order
+     */
+    public static final class Notification {
+        public String type;
+        public String title;
+        public String message;
+        public Object data;
+        public LocalDateTime timestamp;
+        public Long sequence;
+        public String action;
+        public String priority;
+        public String userId;
+    }
+
+    /**
+     * Fields of StatisticsUpdateDTO, in declaration order
+     */
+    public static final class StatisticsUpdate {
+        public String type;
+        public Map<String, Object> statistics;
+        public LocalDateTime timestamp;
+        public Long sequence;
+    }
+}
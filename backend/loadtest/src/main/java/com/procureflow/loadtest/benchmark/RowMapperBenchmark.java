@@ -0,0 +1,242 @@
+package com.procureflow.loadtest.benchmark;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row Mapper Benchmark
+ * Rows per second of the purchase request summary mapping over a 100k-row
+ * in-memory result set, label-based (the original mapper: findColumn per
+ * getter, Enum.valueOf, Timestamp round trip) against positional (the current
+ * PurchaseRequestSummaryRowMapper: fixed indexes, enum lookup tables,
+ * getObject(LocalDateTime)). Both read the 17 SUMMARY columns in the same order
+ * as the repository projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    enum Priority { LOW, MEDIUM, HIGH, URGENT }
+
+    enum RequestStatus { PENDING, UNDER_REVIEW, APPROVED, REJECTED, IN_PROGRESS, COMPLETED, CANCELLED }
+
+    private static final Map<String, Priority> PRIORITIES = lookup(Priority.values());
+    private static final Map<String, RequestStatus> STATUSES = lookup(RequestStatus.values());
+
+    private InMemoryResultSet rs;
+
+    @Setup
+    public void setUp() {
+        rs = new InMemoryResultSet();
+        rs.setAutoClose(false);
+        rs.addColumn("id", Types.BIGINT, 19, 0);
+        rs.addColumn("title", Types.VARCHAR, 255, 0);
+        rs.addColumn("department", Types.VARCHAR, 100, 0);
+        rs.addColumn("priority", Types.VARCHAR, 20, 0);
+        rs.addColumn("status", Types.VARCHAR, 20, 0);
+        rs.addColumn("total_amount", Types.DECIMAL, 15, 2);
+        rs.addColumn("expected_delivery_date", Types.TIMESTAMP, 26, 6);
+        rs.addColumn("created_at", Types.TIMESTAMP, 26, 6);
+        rs.addColumn("updated_at", Types.TIMESTAMP, 26, 6);
+        rs.addColumn("requested_by_id", Types.BIGINT, 19, 0);
+        rs.addColumn("first_name", Types.VARCHAR, 50, 0);
+        rs.addColumn("last_name", Types.VARCHAR, 50, 0);
+        rs.addColumn("email", Types.VARCHAR, 100, 0);
+        rs.addColumn("assigned_to_id", Types.BIGINT, 19, 0);
+        rs.addColumn("assigned_first_name", Types.VARCHAR, 50, 0);
+        rs.addColumn("assigned_last_name", Types.VARCHAR, 50, 0);
+        rs.addColumn("request_number", Types.VARCHAR, 32, 0);
+
+        Priority[] priorities = Priority.values();
+        RequestStatus[] statuses = RequestStatus.values();
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 0; i < ROWS; i++) {
+            boolean assigned = i % 3 == 0;
+            rs.addRow(
+                    (long) i + 1,
+                    "Laptops for onboarding batch " + i,
+                    "IT",
+                    priorities[i % priorities.length].name(),
+                    statuses[i % statuses.length].name(),
+                    BigDecimal.valueOf(50_000 + i, 2),
+                    base.plusDays(30 + i % 60),
+                    base.plusMinutes(i),
+                    base.plusMinutes(i + 5),
+                    (long) (i % 50) + 1,
+                    "Asha",
+                    "Verma",
+                    "asha.verma" + (i % 50) + "@procureflow.com",
+                    assigned ? (Long) ((long) (i % 7) + 1) : null,
+                    assigned ? "Rahul" : null,
+                    assigned ? "Mehta" : null,
+                    "PR-2026-" + String.format("%06d", i + 1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byLabel(Blackhole blackhole) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            blackhole.consume(mapByLabel(rs));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byPosition(Blackhole blackhole) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            blackhole.consume(mapByPosition(rs));
+        }
+    }
+
+    private static SummaryRow mapByLabel(ResultSet rs) throws SQLException {
+        SummaryRow row = new SummaryRow();
+        row.id = rs.getLong("id");
+        row.title = rs.getString("title");
+        row.department = rs.getString("department");
+        row.priority = Priority.valueOf(rs.getString("priority"));
+        row.status = RequestStatus.valueOf(rs.getString("status"));
+        row.totalAmount = rs.getBigDecimal("total_amount");
+        Timestamp expectedDelivery = rs.getTimestamp("expected_delivery_date");
+        row.expectedDeliveryDate = expectedDelivery != null ? expectedDelivery.toLocalDateTime() : null;
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        row.createdAt = createdAt != null ? createdAt.toLocalDateTime() : null;
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        row.updatedAt = updatedAt != null ? updatedAt.toLocalDateTime() : null;
+        row.requestedById = rs.getLong("requested_by_id");
+        String firstName = rs.getString("first_name");
+        String lastName = rs.getString("last_name");
+        if (firstName != null && lastName != null) {
+            row.requestedByName = firstName + " " + lastName;
+        }
+        row.requestedByEmail = rs.getString("email");
+        long assignedToId = rs.getLong("assigned_to_id");
+        if (!rs.wasNull()) {
+            row.assignedToId = assignedToId;
+            String assignedFirstName = rs.getString("assigned_first_name");
+            String assignedLastName = rs.getString("assigned_last_name");
+            if (assignedFirstName != null && assignedLastName != null) {
+                row.assignedToName = assignedFirstName + " " + assignedLastName;
+            }
+        }
+        row.requestNumber = rs.getString("request_number");
+        return row;
+    }
+
+    private static SummaryRow mapByPosition(ResultSet rs) throws SQLException {
+        SummaryRow row = new SummaryRow();
+        row.id = rs.getLong(1);
+        row.title = rs.getString(2);
+        row.department = rs.getString(3);
+        row.priority = decode(PRIORITIES, rs.getString(4));
+        row.status = decode(STATUSES, rs.getString(5));
+        row.totalAmount = rs.getBigDecimal(6);
+        row.expectedDeliveryDate = rs.getObject(7, LocalDateTime.class);
+        row.createdAt = rs.getObject(8, LocalDateTime.class);
+        row.updatedAt = rs.getObject(9, LocalDateTime.class);
+        row.requestedById = rs.getLong(10);
+        String firstName = rs.getString(11);
+        String lastName = rs.getString(12);
+        if (firstName != null && lastName != null) {
+            row.requestedByName = firstName + " " + lastName;
+        }
+        row.requestedByEmail = rs.getString(13);
+        long assignedToId = rs.getLong(14);
+        if (!rs.wasNull()) {
+            row.assignedToId = assignedToId;
+            String assignedFirstName = rs.getString(15);
+            String assignedLastName = rs.getString(16);
+            if (assignedFirstName != null && assignedLastName != null) {
+                row.assignedToName = assignedFirstName + " " + assignedLastName;
+            }
+        }
+        row.requestNumber = rs.getString(17);
+        return row;
+    }
+
+    private static <E extends Enum<E>> Map<String, E> lookup(E[] constants) {
+        Map<String, E> byName = new HashMap<>(constants.length * 2);
+        for (E constant : constants) {
+            byName.put(constant.name(), constant);
+        }
+        return byName;
+    }
+
+    private static <E> E decode(Map<String, E> lookup, String name) {
+        return name != null ? lookup.get(name) : null;
+    }
+
+    /**
+     * SimpleResultSet holding DATETIME values as LocalDateTime, read either through
+     * JDBC 4.2 getObject or converted to Timestamp like a pre-4.2 getter
+     */
+    static final class InMemoryResultSet extends SimpleResultSet {
+
+        @Override
+        public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+            Object value = getObject(columnIndex);
+            return value != null ? type.cast(value) : null;
+        }
+
+        @Override
+        public Timestamp getTimestamp(int columnIndex) throws SQLException {
+            Object value = getObject(columnIndex);
+            return value != null ? Timestamp.valueOf((LocalDateTime) value) : null;
+        }
+
+        @Override
+        public Timestamp getTimestamp(String columnLabel) throws SQLException {
+            return getTimestamp(findColumn(columnLabel));
+        }
+    }
+
+    /**
+     * Fields of PurchaseRequestDTO filled by the summary mapper
+     */
+    static final class SummaryRow {
+        long id;
+        String title;
+        String department;
+        Priority priority;
+        RequestStatus status;
+        BigDecimal totalAmount;
+        LocalDateTime expectedDeliveryDate;
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+        long requestedById;
+        String requestedByName;
+        String requestedByEmail;
+        Long assignedToId;
+        String assignedToName;
+        String requestNumber;
+    }
+}
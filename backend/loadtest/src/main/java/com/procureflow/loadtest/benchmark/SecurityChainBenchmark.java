@@ -0,0 +1,204 @@
+package com.procureflow.loadtest.benchmark;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Security Chain Benchmark
+ * Cost of one request through Spring Security for the high-frequency public
+ * paths (a SockJS transport poll and the health probe): the full API chain with
+ * permitAll, as before the split, against the minimal lightweightFilterChain of
+ * WebSecurityConfig. Both chains mirror the backend configuration; the JWT and
+ * rate limit filters are stand-ins that only inspect the request, as the real
+ * ones do on these paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityChainBenchmark {
+
+    private static final String[] LIGHTWEIGHT_PATHS = {
+            "/ws/**", "/websocket/**",
+            "/actuator/health", "/actuator/health/**", "/api/purchase-requests/health",
+            "/swagger-ui/**", "/webjars/**", "/favicon.ico", "/static/**"
+    };
+
+    @Param({"/ws/info", "/actuator/health"})
+    private String path;
+
+    private AnnotationConfigApplicationContext context;
+    private FilterChainProxy fullOnly;
+    private FilterChainProxy split;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(ChainConfig.class);
+        SecurityFilterChain lightweight = context.getBean("lightweightFilterChain", SecurityFilterChain.class);
+        SecurityFilterChain full = context.getBean("filterChain", SecurityFilterChain.class);
+        fullOnly = new FilterChainProxy(List.of(full));
+        split = new FilterChainProxy(List.of(lightweight, full));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse fullChain() throws IOException, ServletException {
+        return run(fullOnly);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse lightweightChain() throws IOException, ServletException {
+        return run(split);
+    }
+
+    private MockHttpServletResponse run(FilterChainProxy proxy) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setQueryString("t=1767225600000");
+        request.addHeader("Origin", "http://localhost:3000");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        proxy.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RequestMatcher paths(String... patterns) {
+        return new OrRequestMatcher(Arrays.stream(patterns)
+                .map(pattern -> (RequestMatcher) new AntPathRequestMatcher(pattern))
+                .toList());
+    }
+
+    /**
+     * WebSecurityConfig's two chains, with ant matchers in place of the MVC ones
+     */
+    @Configuration
+    @EnableWebSecurity
+    static class ChainConfig {
+
+        @Bean
+        SecurityFilterChain lightweightFilterChain(HttpSecurity http) throws Exception {
+            http.securityMatcher(paths(LIGHTWEIGHT_PATHS))
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(csrf -> csrf.disable())
+                .securityContext(context -> context.disable())
+                .sessionManagement(session -> session.disable())
+                .requestCache(cache -> cache.disable())
+                .anonymous(anonymous -> anonymous.disable())
+                .logout(logout -> logout.disable())
+                .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
+            return http.build();
+        }
+
+        @Bean
+        SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+            http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(csrf -> csrf.disable())
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth ->
+                    auth.requestMatchers(paths("/api/auth/**")).permitAll()
+                        .requestMatchers(paths("/ws/**", "/websocket/**")).permitAll()
+                        .requestMatchers(paths("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html")).permitAll()
+                        .requestMatchers(paths("/actuator/datasourcepools/**", "/actuator/datasourcepools")).hasRole("ADMIN")
+                        .requestMatchers(paths("/actuator/slowqueries/**", "/actuator/slowqueries")).hasRole("ADMIN")
+                        .requestMatchers(paths("/actuator/**")).permitAll()
+                        .requestMatchers(paths("/h2-console/**")).permitAll()
+                        .anyRequest().authenticated())
+                .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
+                .addFilterBefore(new RateLimitStandIn(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new TokenFilterStandIn(), UsernamePasswordAuthenticationFilter.class);
+            return http.build();
+        }
+
+        @Bean
+        CorsConfigurationSource corsConfigurationSource() {
+            CorsConfiguration configuration = new CorsConfiguration();
+            configuration.setAllowedOriginPatterns(Arrays.asList("*"));
+            configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+            configuration.setAllowedHeaders(Arrays.asList("*"));
+            configuration.setAllowCredentials(true);
+
+            UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+            source.registerCorsConfiguration("/**", configuration);
+            return source;
+        }
+    }
+
+    /**
+     * AuthRateLimitFilter outside /api/auth: a path check, then pass through
+     */
+    static final class RateLimitStandIn extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            chain.doFilter(request, response);
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !request.getRequestURI().startsWith("/api/auth/");
+        }
+    }
+
+    /**
+     * AuthTokenFilter without a token: header and query parameter lookup, then pass through
+     */
+    static final class TokenFilterStandIn extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            String header = request.getHeader("Authorization");
+            if (header == null && "/api/realtime/stream".equals(request.getRequestURI())) {
+                request.getParameter("access_token");
+            }
+            chain.doFilter(request, response);
+        }
+    }
+}
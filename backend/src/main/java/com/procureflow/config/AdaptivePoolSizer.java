@@ -0,0 +1,279 @@
+package com.procureflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive Pool Sizer
+ * Optionally resizes the Hikari pools from what they actually experience: the
+ * mean connection acquire time and the 95th percentile of active connections
+ * over the last window. Pools grow when callers wait longer than the target and
+ * shrink when most connections sit idle, always within the configured bounds.
+ * The OLTP and replica pools use procureflow.datasource.adaptive.min-size and
+ * max-size; each workload pool has its own bounds under
+ * procureflow.datasource.workloads.<name>.adaptive.*, defaulting to its
+ * configured size so reporting and background work cannot grow into OLTP's share.
+ */
+@Component
+public class AdaptivePoolSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    // One sample per second; enough for several minutes of window
+    private static final int MAX_SAMPLES = 600;
+
+    // The OLTP, reporting, background and replica pools, plus the routing DataSource that is skipped
+    @Autowired
+    private List<DataSource> dataSources;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${procureflow.datasource.adaptive.enabled:false}")
+    private volatile boolean enabled;
+
+    @Value("${procureflow.datasource.adaptive.min-size:10}")
+    private int minSize;
+
+    @Value("${procureflow.datasource.adaptive.max-size:60}")
+    private int maxSize;
+
+    @Value("${procureflow.datasource.adaptive.target-wait-ms:20}")
+    private double targetWaitMs;
+
+    @Value("${procureflow.datasource.adaptive.step:5}")
+    private int step;
+
+    private static final Map<String, String> WORKLOAD_POOLS = Map.of(
+            JdbcConfig.REPORTING_POOL_NAME, "reporting",
+            JdbcConfig.BACKGROUND_POOL_NAME, "background");
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, PoolWindow> windows = new ConcurrentHashMap<>();
+
+    // Per-pool size bounds, resolved from each pool's configured size at startup
+    private final Map<String, Bounds> bounds = new ConcurrentHashMap<>();
+
+    /**
+     * Per-pool saturation: share of the pool's connections in use, and callers waiting for one
+     */
+    @PostConstruct
+    public void registerSaturationMetrics() {
+        for (HikariDataSource pool : pools()) {
+            bounds(pool);
+            Gauge.builder("procureflow.datasource.saturation", pool, AdaptivePoolSizer::saturation)
+                    .description("Active connections as a fraction of the maximum pool size")
+                    .tag("pool", pool.getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void sample() {
+        if (!enabled) {
+            return;
+        }
+        for (HikariDataSource pool : pools()) {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean != null) {
+                windows.computeIfAbsent(pool.getPoolName(), name -> new PoolWindow()).add(mxBean.getActiveConnections());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${procureflow.datasource.adaptive.interval-ms:30000}",
+               initialDelayString = "${procureflow.datasource.adaptive.interval-ms:30000}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        for (HikariDataSource pool : pools()) {
+            PoolWindow window = windows.get(pool.getPoolName());
+            if (window != null) {
+                adjust(pool, window);
+            }
+        }
+    }
+
+    /**
+     * Set a pool's size by hand, e.g. from the actuator endpoint; clamped to the pool's bounds
+     */
+    public int resize(String poolName, int maximumPoolSize) {
+        HikariDataSource pool = pools().stream()
+                .filter(candidate -> candidate.getPoolName().equals(poolName))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Unknown connection pool: " + poolName));
+        Bounds limits = bounds(pool);
+        return apply(pool, Math.max(limits.min(), Math.min(limits.max(), maximumPoolSize)), "manual");
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            windows.clear();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("adaptive", enabled);
+        stats.put("minSize", minSize);
+        stats.put("maxSize", maxSize);
+        stats.put("targetWaitMs", targetWaitMs);
+
+        Map<String, Object> poolStats = new LinkedHashMap<>();
+        for (HikariDataSource pool : pools()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            Bounds limits = bounds(pool);
+            entry.put("maximumPoolSize", pool.getMaximumPoolSize());
+            entry.put("minSize", limits.min());
+            entry.put("maxSize", limits.max());
+            entry.put("saturation", saturation(pool));
+            entry.put("minimumIdle", pool.getMinimumIdle());
+            if (mxBean != null) {
+                entry.put("active", mxBean.getActiveConnections());
+                entry.put("idle", mxBean.getIdleConnections());
+                entry.put("total", mxBean.getTotalConnections());
+                entry.put("threadsAwaiting", mxBean.getThreadsAwaitingConnection());
+            }
+            PoolWindow window = windows.get(pool.getPoolName());
+            if (window != null && window.lastDecision != null) {
+                entry.put("lastDecision", window.lastDecision);
+            }
+            poolStats.put(pool.getPoolName(), entry);
+        }
+        stats.put("pools", poolStats);
+        return stats;
+    }
+
+    private void adjust(HikariDataSource pool, PoolWindow window) {
+        int[] samples = window.drain();
+        if (samples.length == 0) {
+            return;
+        }
+        Arrays.sort(samples);
+        int p95Active = samples[Math.min(samples.length - 1, (int) Math.ceil(samples.length * 0.95) - 1)];
+
+        // Mean acquire time since the last adjustment, from Hikari's own timer
+        double meanWaitMs = 0;
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer();
+        if (acquire != null) {
+            long count = acquire.count();
+            double totalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+            long deltaCount = count - window.lastAcquireCount;
+            if (deltaCount > 0) {
+                meanWaitMs = (totalMs - window.lastAcquireTotalMs) / deltaCount;
+            }
+            window.lastAcquireCount = count;
+            window.lastAcquireTotalMs = totalMs;
+        }
+
+        Bounds limits = bounds(pool);
+        int current = pool.getMaximumPoolSize();
+        if (meanWaitMs > targetWaitMs || p95Active >= current) {
+            apply(pool, Math.min(limits.max(), current + step),
+                    String.format("grow: wait %.1f ms, p95 active %d", meanWaitMs, p95Active));
+        } else if (meanWaitMs < targetWaitMs / 4 && p95Active < current / 2) {
+            apply(pool, Math.max(limits.min(), current - step),
+                    String.format("shrink: wait %.1f ms, p95 active %d", meanWaitMs, p95Active));
+        }
+    }
+
+    private int apply(HikariDataSource pool, int size, String reason) {
+        int current = pool.getMaximumPoolSize();
+        if (size != current) {
+            // Hikari requires minimumIdle <= maximumPoolSize
+            if (pool.getMinimumIdle() > size) {
+                pool.setMinimumIdle(size);
+            }
+            pool.setMaximumPoolSize(size);
+            logger.info("Resized pool {} from {} to {} ({})", pool.getPoolName(), current, size, reason);
+        }
+        windows.computeIfAbsent(pool.getPoolName(), name -> new PoolWindow()).lastDecision = reason + " -> " + size;
+        return size;
+    }
+
+    /**
+     * Size bounds of a pool: the shared adaptive bounds for OLTP and the replica, the
+     * workload's own (by default its configured size) for the bulkhead pools
+     */
+    private Bounds bounds(HikariDataSource pool) {
+        return bounds.computeIfAbsent(pool.getPoolName(), name -> {
+            String workload = WORKLOAD_POOLS.get(name);
+            if (workload == null) {
+                return new Bounds(minSize, maxSize);
+            }
+            int configured = pool.getMaximumPoolSize();
+            String prefix = "procureflow.datasource.workloads." + workload + ".adaptive.";
+            int min = environment.getProperty(prefix + "min-size", Integer.class, configured);
+            int max = environment.getProperty(prefix + "max-size", Integer.class, configured);
+            return new Bounds(Math.max(1, min), Math.max(Math.max(1, min), max));
+        });
+    }
+
+    private List<HikariDataSource> pools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof HikariDataSource pool) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null || pool.getMaximumPoolSize() == 0 ? 0
+                : (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+    private record Bounds(int min, int max) {
+    }
+
+    /**
+     * Active-connection samples since the last adjustment
+     */
+    private static final class PoolWindow {
+
+        private final int[] samples = new int[MAX_SAMPLES];
+        private int size;
+        private long lastAcquireCount;
+        private double lastAcquireTotalMs;
+        private volatile String lastDecision;
+
+        synchronized void add(int active) {
+            if (size < MAX_SAMPLES) {
+                samples[size++] = active;
+            }
+        }
+
+        synchronized int[] drain() {
+            int[] drained = Arrays.copyOf(samples, size);
+            size = 0;
+            return drained;
+        }
+    }
+}
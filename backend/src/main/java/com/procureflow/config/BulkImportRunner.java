@@ -0,0 +1,71 @@
+package com.procureflow.config;
+
+import com.procureflow.entity.User;
+import com.procureflow.repository.jdbc.UserJdbcRepository;
+import com.procureflow.service.BulkImportService;
+import com.procureflow.service.ExportFormat;
+import com.procureflow.service.ImportJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Bulk Import Runner
+ * Command-line import of a local file, then exit:
+ * java -jar procureflow-backend.jar --spring.main.web-application-type=none
+ *   --procureflow.app.importFile=requests.csv --procureflow.app.importRequestedBy=admin
+ */
+@Component
+@ConditionalOnProperty(prefix = "procureflow.app", name = "importFile")
+public class BulkImportRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportRunner.class);
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private UserJdbcRepository userRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${procureflow.app.importFile}")
+    private String importFile;
+
+    @Value("${procureflow.app.importFormat:}")
+    private String importFormat;
+
+    @Value("${procureflow.app.importRequestedBy:admin}")
+    private String importRequestedBy;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path file = Paths.get(importFile);
+        ExportFormat format = importFormat.isBlank()
+                ? (file.toString().toLowerCase(Locale.ROOT).endsWith(".ndjson") ? ExportFormat.NDJSON : ExportFormat.CSV)
+                : ExportFormat.valueOf(importFormat.trim().toUpperCase(Locale.ROOT));
+        Long requesterId = userRepository.findByUsername(importRequestedBy)
+                .map(User::getId)
+                .orElseThrow(() -> new RuntimeException("Import requester not found: " + importRequestedBy));
+
+        ImportJob job = bulkImportService.importFile(format, file, requesterId);
+        logger.info("Import of {} finished: {}", file, job.toMap());
+        if (job.getRowsFailed().get() > 0) {
+            logger.warn("Rejected rows written to {}", job.getErrorFile());
+        }
+
+        int exitCode = job.getState() == ImportJob.State.COMPLETED && job.getRowsFailed().get() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
@@ -0,0 +1,39 @@
+package com.procureflow.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration
+ * Caffeine caches with per-cache size and TTL limits; stats are recorded so
+ * hit/miss metrics show up under /actuator/metrics/cache.* and /actuator/caches
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    @Value("${procureflow.app.userCacheMaxSize:10000}")
+    private long userCacheMaxSize;
+
+    @Value("${procureflow.app.userCacheTtlSeconds:300}")
+    private long userCacheTtlSeconds;
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userDetailsCacheCustomizer() {
+        return cacheManager -> cacheManager.registerCustomCache(USER_DETAILS_CACHE,
+                Caffeine.newBuilder()
+                        .maximumSize(userCacheMaxSize)
+                        .expireAfterWrite(Duration.ofSeconds(userCacheTtlSeconds))
+                        .recordStats()
+                        .build());
+    }
+}
@@ -0,0 +1,170 @@
+package com.procureflow.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compact Encoding Interceptor
+ * Negotiates CBOR frames at STOMP CONNECT and transcodes outbound JSON payloads
+ * for sessions that asked for them. Only native WebSocket sessions qualify,
+ * since SockJS transports can only carry text frames.
+ */
+public class CompactEncodingInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactEncodingInterceptor.class);
+
+    public static final String ACCEPT_HEADER = "accept-content-type";
+    public static final String ENCODING_HEADER = "content-encoding";
+    public static final String NATIVE_TRANSPORT_ATTRIBUTE = "procureflow.nativeTransport";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    private final Set<String> compactSessions = ConcurrentHashMap.newKeySet();
+
+    // A broadcast reaches every subscriber with the same payload array, so the
+    // last transcoding result is reused until a different payload comes through
+    private volatile Encoded lastEncoded;
+
+    private final AtomicLong messagesEncoded = new AtomicLong();
+    private final AtomicLong jsonBytes = new AtomicLong();
+    private final AtomicLong cborBytes = new AtomicLong();
+    private final AtomicLong encodeNanos = new AtomicLong();
+
+    /**
+     * Inbound side: record or forget the negotiated encoding per session
+     */
+    public Message<?> handleInbound(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        StompCommand command = accessor.getCommand();
+
+        if (command == StompCommand.CONNECT) {
+            Map<String, Object> attributes = accessor.getSessionAttributes();
+            boolean nativeTransport = attributes != null && Boolean.TRUE.equals(attributes.get(NATIVE_TRANSPORT_ATTRIBUTE));
+            String accept = accessor.getFirstNativeHeader(ACCEPT_HEADER);
+
+            if (nativeTransport && accept != null
+                    && CborMessageConverter.APPLICATION_CBOR.isCompatibleWith(MimeTypeUtils.parseMimeType(accept))) {
+                compactSessions.add(accessor.getSessionId());
+                logger.debug("Session {} negotiated CBOR frames", accessor.getSessionId());
+            }
+        } else if (command == StompCommand.DISCONNECT) {
+            compactSessions.remove(accessor.getSessionId());
+        }
+
+        return message;
+    }
+
+    /**
+     * Outbound side: transcode broker MESSAGE frames for compact sessions
+     */
+    public Message<?> handleOutbound(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || !compactSessions.contains(accessor.getSessionId())
+                || !(message.getPayload() instanceof byte[] json)
+                || accessor.getContentType() == null
+                || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+            return message;
+        }
+
+        byte[] cbor;
+        try {
+            cbor = encode(json);
+        } catch (IOException e) {
+            logger.warn("Falling back to JSON for session {}: {}", accessor.getSessionId(), e.getMessage());
+            return message;
+        }
+
+        // octet-stream makes the STOMP handler emit a binary WebSocket frame
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(ENCODING_HEADER, CborMessageConverter.APPLICATION_CBOR.toString());
+
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    private byte[] encode(byte[] json) throws IOException {
+        Encoded cached = lastEncoded;
+        if (cached != null && cached.source == json) {
+            return cached.encoded;
+        }
+
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = cborFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        byte[] cbor = out.toByteArray();
+
+        encodeNanos.addAndGet(System.nanoTime() - start);
+        messagesEncoded.incrementAndGet();
+        jsonBytes.addAndGet(json.length);
+        cborBytes.addAndGet(cbor.length);
+
+        lastEncoded = new Encoded(json, cbor);
+        return cbor;
+    }
+
+    /**
+     * Registered on the client inbound channel
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        return handleInbound(message);
+    }
+
+    /**
+     * Size and CPU comparison between JSON and CBOR for the payloads seen so far
+     */
+    public Map<String, Object> getStatistics() {
+        long count = messagesEncoded.get();
+        long json = jsonBytes.get();
+        long cbor = cborBytes.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("compactSessions", compactSessions.size());
+        stats.put("messagesEncoded", count);
+        stats.put("avgJsonBytes", count == 0 ? 0 : json / count);
+        stats.put("avgCborBytes", count == 0 ? 0 : cbor / count);
+        stats.put("compressionRatio", json == 0 ? 1.0 : (double) cbor / json);
+        stats.put("avgEncodeMicros", count == 0 ? 0.0 : encodeNanos.get() / 1000.0 / count);
+        return stats;
+    }
+
+    /**
+     * Channel interceptor for the client outbound channel
+     */
+    public ChannelInterceptor outbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                return handleOutbound(message);
+            }
+        };
+    }
+
+    private record Encoded(byte[] source, byte[] encoded) {}
+}
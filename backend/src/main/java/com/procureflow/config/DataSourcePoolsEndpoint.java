@@ -0,0 +1,51 @@
+package com.procureflow.config;
+
+import com.procureflow.repository.jdbc.SortSpecRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * DataSource Pools Endpoint
+ * /actuator/datasourcepools (and JMX when enabled): pool sizes and usage, sort
+ * variant and statement cache usage, manual resizing, and switching adaptive
+ * sizing on or off
+ */
+@Component
+@Endpoint(id = "datasourcepools")
+public class DataSourcePoolsEndpoint {
+
+    @Autowired
+    private AdaptivePoolSizer adaptivePoolSizer;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private SortSpecRegistry sortSpecRegistry;
+
+    @ReadOperation
+    public Map<String, Object> pools() {
+        Map<String, Object> stats = adaptivePoolSizer.getStatistics();
+        stats.put("replica", replicaLagMonitor.getStatistics());
+        stats.put("statements", sortSpecRegistry.getStatistics());
+        return stats;
+    }
+
+    @WriteOperation
+    public Map<String, Object> adaptive(boolean enabled) {
+        adaptivePoolSizer.setEnabled(enabled);
+        return adaptivePoolSizer.getStatistics();
+    }
+
+    @WriteOperation
+    public Map<String, Object> resize(@Selector String pool, int maximumPoolSize) {
+        adaptivePoolSizer.resize(pool, maximumPoolSize);
+        return adaptivePoolSizer.getStatistics();
+    }
+}
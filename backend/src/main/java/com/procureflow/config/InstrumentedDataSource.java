@@ -0,0 +1,233 @@
+package com.procureflow.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Instrumented DataSource
+ * Wraps one connection pool so every statement run on its connections is timed
+ * and reported to QueryInstrumentation. Queries are measured until their result
+ * set is closed, so streamed exports count the time spent reading rows.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final String poolName;
+    private final QueryInstrumentation instrumentation;
+
+    public InstrumentedDataSource(DataSource pool, String poolName, QueryInstrumentation instrumentation) {
+        super(pool);
+        this.poolName = poolName;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statementProxy(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statementProxy(CallableStatement.class, (Statement) result, (String) args[0]);
+                case "createStatement" -> statementProxy(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        }
+
+        private Object statementProxy(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[] {type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        private String batchSql;
+        private Execution pending;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args, name);
+            }
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                if (instrumentation.isCaptureParameters()) {
+                    // setNull(index, sqlType[, typeName]): the second argument is a type code, not a value
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                }
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch") && args != null && args.length == 1 && batchSql == null) {
+                batchSql = (String) args[0];
+            } else if (name.equals("close") && pending != null) {
+                pending.finish(false);
+            }
+            return InstrumentedDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args, String name) throws Throwable {
+            if (pending != null) {
+                pending.finish(false);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                    : preparedSql != null ? preparedSql : batchSql;
+            String operation = switch (name) {
+                case "executeQuery" -> "query";
+                case "executeBatch", "executeLargeBatch" -> "batch";
+                case "executeUpdate", "executeLargeUpdate" -> "update";
+                default -> "execute";
+            };
+            Execution execution = new Execution(QueryTag.current(), operation, sql, describeParameters());
+
+            Object result;
+            try {
+                result = InstrumentedDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                execution.finish(true);
+                throw e;
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                pending = execution;
+                return new InstrumentedResultSet(resultSet, execution);
+            }
+            execution.rows = affectedRows(result);
+            execution.finish(false);
+            if (execution.operation.equals("batch")) {
+                batchSql = null;
+            }
+            return result;
+        }
+
+        private List<String> describeParameters() {
+            if (parameters.isEmpty()) {
+                return List.of();
+            }
+            List<String> described = new ArrayList<>(parameters.size());
+            for (Object value : parameters.values()) {
+                described.add(QueryInstrumentation.describeParameter(value));
+            }
+            return described;
+        }
+
+        private long affectedRows(Object result) throws SQLException {
+            if (result instanceof Integer count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof Long count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    // rewriteBatchedStatements reports SUCCESS_NO_INFO (-2) per row
+                    total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                }
+                return total;
+            }
+            if (result instanceof long[] counts) {
+                long total = 0;
+                for (long count : counts) {
+                    total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+                }
+                return total;
+            }
+            if (Boolean.FALSE.equals(result)) {
+                return Math.max(statement.getUpdateCount(), 0);
+            }
+            return 0;
+        }
+    }
+
+    private class Execution implements InstrumentedResultSet.Listener {
+        final String tag;
+        final String operation;
+        final String sql;
+        final List<String> parameters;
+        final long startNanos = System.nanoTime();
+        long firstRowNanos = -1;
+        long rows;
+        boolean finished;
+
+        Execution(String tag, String operation, String sql, List<String> parameters) {
+            this.tag = tag;
+            this.operation = operation;
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        @Override
+        public void rowRead() {
+            if (rows++ == 0) {
+                firstRowNanos = System.nanoTime() - startNanos;
+            }
+        }
+
+        @Override
+        public void closed() {
+            finish(false);
+        }
+
+        void finish(boolean failed) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            instrumentation.record(poolName, tag, operation, sql, parameters,
+                    System.nanoTime() - startNanos, firstRowNanos, rows, failed);
+        }
+    }
+}
@@ -2,25 +2,53 @@ package com.procureflow.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.DefaultTransactionStatus;
 
 import javax.sql.DataSource;
+import java.util.Map;
 
 /**
  * JDBC Configuration for High Performance
- * Optimized connection pooling and query performance
+ * Optimized connection pooling and query performance. Pool settings below are
+ * defaults only: spring.datasource.hikari.* (and procureflow.datasource.replica.*
+ * for the replica) override them.
  */
 @Configuration
 @EnableTransactionManagement
 public class JdbcConfig {
 
+    private static final String PRIMARY_POOL_NAME = "ProcureFlow-HikariCP";
+    private static final String REPLICA_POOL_NAME = "ProcureFlow-Replica-HikariCP";
+    static final String REPORTING_POOL_NAME = "ProcureFlow-Reporting-HikariCP";
+    static final String BACKGROUND_POOL_NAME = "ProcureFlow-Background-HikariCP";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryInstrumentation queryInstrumentation;
+
     @Value("${spring.datasource.url:jdbc:mysql://localhost:3306/procureflow}")
     private String dbUrl;
 
@@ -33,19 +61,117 @@ public class JdbcConfig {
     @Value("${spring.datasource.driver-class-name:com.mysql.cj.jdbc.Driver}")
     private String driverClassName;
 
+    @Value("${procureflow.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${procureflow.datasource.workloads.reporting.query-timeout-seconds:60}")
+    private int reportingQueryTimeout;
+
+    @Value("${procureflow.datasource.workloads.background.query-timeout-seconds:120}")
+    private int backgroundQueryTimeout;
+
+    @Value("${procureflow.datasource.streaming.query-timeout-seconds:0}")
+    private int streamingQueryTimeout;
+
+    @Value("${procureflow.datasource.instrumentation.enabled:true}")
+    private boolean instrumentationEnabled;
+
+    /**
+     * Optimized HikariCP DataSource for MySQL, serving the user-facing (OLTP) workload
+     */
+    @Bean
+    public DataSource primaryDataSource() {
+        HikariConfig config = defaultPoolConfig(PRIMARY_POOL_NAME);
+        config.setJdbcUrl(dbUrl);
+        config.setUsername(dbUsername);
+        config.setPassword(dbPassword);
+        config.setDriverClassName(driverClassName);
+        bind("spring.datasource.hikari", config);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Separate pool on the read replica, only created when a replica URL is configured
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "procureflow.datasource.replica", name = "url")
+    public DataSource replicaDataSource() {
+        HikariConfig config = defaultPoolConfig(REPLICA_POOL_NAME);
+        config.setUsername(dbUsername);
+        config.setPassword(dbPassword);
+        config.setDriverClassName(driverClassName);
+        // Same tuning as the primary unless the replica section says otherwise
+        bind("spring.datasource.hikari", config);
+        config.setPoolName(REPLICA_POOL_NAME);
+        bind("procureflow.datasource.replica", config);
+        config.setJdbcUrl(replicaUrl);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Bulkhead pool for reporting queries on the primary database
+     */
+    @Bean
+    public DataSource reportingDataSource() {
+        return workloadPool(REPORTING_POOL_NAME, "reporting");
+    }
+
+    /**
+     * Bulkhead pool for scheduled jobs and async processing
+     */
+    @Bean
+    public DataSource backgroundDataSource() {
+        return workloadPool(BACKGROUND_POOL_NAME, "background");
+    }
+
     /**
-     * Optimized HikariCP DataSource for MySQL
+     * Application DataSource: routes read-only transactions to the replica when one is
+     * configured, and all other work to the pool of its workload class
      */
     @Bean
     @Primary
-    public DataSource dataSource() {
-        HikariConfig config = new HikariConfig();
-        
-        // Database connection settings
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("reportingDataSource") DataSource reportingDataSource,
+                                 @Qualifier("backgroundDataSource") DataSource backgroundDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                Map.of(WorkloadClass.OLTP, instrumented(primaryDataSource),
+                        WorkloadClass.REPORTING, instrumented(reportingDataSource),
+                        WorkloadClass.BACKGROUND, instrumented(backgroundDataSource)),
+                instrumented(replicaDataSource.getIfAvailable()), lagMonitor, writesTracker, false, WorkloadClass.OLTP));
+    }
+
+    /**
+     * Per-statement timing on a pool's connections (see QueryInstrumentation); the
+     * pool beans themselves stay unwrapped for pool sizing and health checks
+     */
+    private DataSource instrumented(DataSource pool) {
+        if (pool == null || !instrumentationEnabled) {
+            return pool;
+        }
+        String poolName = pool instanceof HikariDataSource hikari ? hikari.getPoolName() : "unknown";
+        return new InstrumentedDataSource(pool, poolName, queryInstrumentation);
+    }
+
+    private HikariDataSource workloadPool(String poolName, String workload) {
+        HikariConfig config = defaultPoolConfig(poolName);
         config.setJdbcUrl(dbUrl);
         config.setUsername(dbUsername);
         config.setPassword(dbPassword);
         config.setDriverClassName(driverClassName);
+        bind("spring.datasource.hikari", config);
+        config.setPoolName(poolName);
+        // Sizes and timeouts of the workload section win over the shared settings
+        bind("procureflow.datasource.workloads." + workload, config);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Baseline pool tuning, applied before configuration is bound on top
+     */
+    private HikariConfig defaultPoolConfig(String poolName) {
+        HikariConfig config = new HikariConfig();
         
         // Connection pool optimization
         config.setMaximumPoolSize(25);           // Max connections
@@ -71,10 +197,15 @@ public class JdbcConfig {
         config.setConnectionTestQuery("SELECT 1");
         config.setValidationTimeout(5000);
         
-        // Pool name for monitoring
-        config.setPoolName("ProcureFlow-HikariCP");
+        // Pool name and metrics for monitoring; the tracker must be set before the pool starts
+        config.setPoolName(poolName);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
         
-        return new HikariDataSource(config);
+        return config;
+    }
+
+    private void bind(String prefix, HikariConfig config) {
+        Binder.get(environment).bind(prefix, Bindable.ofInstance(config));
     }
 
     /**
@@ -100,8 +231,17 @@ public class JdbcConfig {
      */
     @Bean
     @Primary
-    public PlatformTransactionManager transactionManager(DataSource dataSource) {
-        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    public PlatformTransactionManager transactionManager(DataSource dataSource, ReadYourWritesTracker writesTracker) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource) {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                super.doCommit(status);
+                // Keep this user's next reads on the primary until the replica catches up
+                if (!status.isReadOnly()) {
+                    writesTracker.recordWrite();
+                }
+            }
+        };
         
         // Transaction optimization
         transactionManager.setDefaultTimeout(30); // 30 seconds default timeout
@@ -111,17 +251,66 @@ public class JdbcConfig {
     }
 
     /**
-     * Additional JdbcTemplate for read-only operations (can use read replica in production)
+     * Additional JdbcTemplate for reporting queries; outside a transaction they go to the
+     * read replica, or to the reporting pool when there is none
      */
     @Bean("readOnlyJdbcTemplate")
-    public JdbcTemplate readOnlyJdbcTemplate(DataSource dataSource) {
-        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    public JdbcTemplate readOnlyJdbcTemplate(DataSource dataSource,
+                                             @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                             @Qualifier("reportingDataSource") DataSource reportingDataSource,
+                                             @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                             ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker) {
+        JdbcTemplate jdbcTemplate = new WorkloadJdbcTemplate(readDataSource(primaryDataSource, reportingDataSource,
+                replicaDataSource, lagMonitor, writesTracker), dataSource);
         
         // Optimized for read operations
         jdbcTemplate.setFetchSize(500);           // Larger fetch size for read operations
         jdbcTemplate.setMaxRows(50000);           // Larger max rows for reports
-        jdbcTemplate.setQueryTimeout(60);         // Longer timeout for complex queries
+        jdbcTemplate.setQueryTimeout(reportingQueryTimeout); // Longer timeout for complex queries
         
         return jdbcTemplate;
     }
+
+    /**
+     * JdbcTemplate for scheduled jobs; outside a transaction it uses the background pool
+     */
+    @Bean("backgroundJdbcTemplate")
+    public JdbcTemplate backgroundJdbcTemplate(DataSource dataSource,
+                                               @Qualifier("backgroundDataSource") DataSource backgroundDataSource) {
+        JdbcTemplate jdbcTemplate = new WorkloadJdbcTemplate(instrumented(backgroundDataSource), dataSource);
+        jdbcTemplate.setFetchSize(500);
+        jdbcTemplate.setQueryTimeout(backgroundQueryTimeout);
+        return jdbcTemplate;
+    }
+
+    /**
+     * JdbcTemplate for exports; rows are streamed from the server one at a time instead
+     * of being buffered, and there is no maxRows cap. Routed like readOnlyJdbcTemplate.
+     */
+    @Bean("streamingJdbcTemplate")
+    public JdbcTemplate streamingJdbcTemplate(DataSource dataSource,
+                                              @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                              @Qualifier("reportingDataSource") DataSource reportingDataSource,
+                                              @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                              ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker) {
+        JdbcTemplate jdbcTemplate = new WorkloadJdbcTemplate(readDataSource(primaryDataSource, reportingDataSource,
+                replicaDataSource, lagMonitor, writesTracker), dataSource);
+        // Connector/J switches to row-by-row streaming for Integer.MIN_VALUE; other drivers reject it
+        jdbcTemplate.setFetchSize(dbUrl.startsWith("jdbc:mysql:") ? Integer.MIN_VALUE : 1000);
+        jdbcTemplate.setMaxRows(0);
+        jdbcTemplate.setQueryTimeout(streamingQueryTimeout);
+        return jdbcTemplate;
+    }
+
+    /**
+     * Reads go to the replica when usable, otherwise to the reporting pool
+     */
+    private DataSource readDataSource(DataSource primaryDataSource, DataSource reportingDataSource,
+                                      ObjectProvider<DataSource> replicaDataSource,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker) {
+        return new ReadWriteRoutingDataSource(
+                Map.of(WorkloadClass.OLTP, instrumented(primaryDataSource),
+                        WorkloadClass.REPORTING, instrumented(reportingDataSource)),
+                instrumented(replicaDataSource.getIfAvailable()), lagMonitor, writesTracker, true, WorkloadClass.REPORTING);
+    }
 }
@@ -0,0 +1,202 @@
+package com.procureflow.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Query Instrumentation
+ * Per-statement metrics fed by InstrumentedDataSource, labelled with the
+ * repository method (QueryTag), operation and pool:
+ * procureflow.jdbc.statement (execution until the result set is closed),
+ * procureflow.jdbc.statement.first-row and procureflow.jdbc.statement.rows.
+ * Statements slower than the threshold are kept with their bind parameters in a
+ * fixed-size ring buffer served by /actuator/slowqueries.
+ */
+@Component
+public class QueryInstrumentation {
+
+    private static final int MAX_SQL_LENGTH = 2000;
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${procureflow.datasource.instrumentation.slow-query-threshold-ms:500}")
+    private long slowQueryThresholdMs;
+
+    // Off by default: bind values include e-mails, password hashes and tokens
+    @Value("${procureflow.datasource.instrumentation.capture-parameters:false}")
+    private boolean captureParameters;
+
+    @Value("${procureflow.datasource.instrumentation.slow-query-buffer-size:200}")
+    private int slowQueryBufferSize;
+
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+    private final AtomicLong slowQuerySequence = new AtomicLong();
+    private final AtomicLong statementCount = new AtomicLong();
+    private AtomicReferenceArray<SlowQuery> slowQueries;
+
+    @PostConstruct
+    public void init() {
+        slowQueries = new AtomicReferenceArray<>(Math.max(1, slowQueryBufferSize));
+    }
+
+    public boolean isCaptureParameters() {
+        return captureParameters;
+    }
+
+    /**
+     * Record one finished statement
+     *
+     * @param firstRowNanos time from execution start to the first row, or -1 when no row was read
+     * @param rows rows read for queries, rows affected for updates and batches
+     */
+    public void record(String pool, String tag, String operation, String sql, List<String> parameters,
+                       long elapsedNanos, long firstRowNanos, long rows, boolean failed) {
+        statementCount.incrementAndGet();
+        StatementMeters statementMeters = meters.computeIfAbsent(tag + '|' + operation + '|' + pool,
+                key -> new StatementMeters(pool, tag, operation));
+        statementMeters.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        statementMeters.rows.record(rows);
+        if (firstRowNanos >= 0) {
+            statementMeters.firstRow.record(firstRowNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs)) {
+            statementMeters.slow.increment();
+            long sequence = slowQuerySequence.getAndIncrement();
+            slowQueries.set((int) (sequence % slowQueries.length()), new SlowQuery(sequence, LocalDateTime.now(),
+                    pool, tag, operation, truncate(sql, MAX_SQL_LENGTH), parameters,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    firstRowNanos >= 0 ? TimeUnit.NANOSECONDS.toMillis(firstRowNanos) : null, rows, failed));
+        }
+    }
+
+    /**
+     * Render a bind parameter for the slow query log
+     */
+    public static String describeParameter(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof CharSequence || value instanceof java.util.Date || value instanceof java.time.temporal.Temporal) {
+            return "'" + truncate(value.toString(), MAX_PARAMETER_LENGTH) + "'";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    /**
+     * Captured slow statements, newest first
+     */
+    public List<Map<String, Object>> getSlowQueries() {
+        List<SlowQuery> captured = new ArrayList<>(slowQueries.length());
+        for (int i = 0; i < slowQueries.length(); i++) {
+            SlowQuery slowQuery = slowQueries.get(i);
+            if (slowQuery != null) {
+                captured.add(slowQuery);
+            }
+        }
+        captured.sort((a, b) -> Long.compare(b.sequence(), a.sequence()));
+        return captured.stream().map(SlowQuery::toMap).toList();
+    }
+
+    public void clearSlowQueries() {
+        for (int i = 0; i < slowQueries.length(); i++) {
+            slowQueries.set(i, null);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("statements", statementCount.get());
+        stats.put("slowQueries", slowQuerySequence.get());
+        stats.put("slowQueryThresholdMs", slowQueryThresholdMs);
+        stats.put("slowQueryBufferSize", slowQueries.length());
+        stats.put("captureParameters", captureParameters);
+        stats.put("taggedStatements", meters.size());
+        return stats;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength) + "...";
+    }
+
+    private class StatementMeters {
+        final Timer timer;
+        final Timer firstRow;
+        final DistributionSummary rows;
+        final Counter slow;
+
+        StatementMeters(String pool, String tag, String operation) {
+            timer = Timer.builder("procureflow.jdbc.statement")
+                    .description("SQL statement time, including reading the result set")
+                    .tags("repository", tag, "operation", operation, "pool", pool)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(meterRegistry);
+            firstRow = Timer.builder("procureflow.jdbc.statement.first-row")
+                    .description("Time from executing a query to its first row")
+                    .tags("repository", tag, "operation", operation, "pool", pool)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(meterRegistry);
+            rows = DistributionSummary.builder("procureflow.jdbc.statement.rows")
+                    .description("Rows returned by a query or affected by an update")
+                    .tags("repository", tag, "operation", operation, "pool", pool)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(100000.0)
+                    .register(meterRegistry);
+            slow = Counter.builder("procureflow.jdbc.statement.slow")
+                    .description("Statements slower than the slow query threshold")
+                    .tags("repository", tag, "operation", operation, "pool", pool)
+                    .register(meterRegistry);
+        }
+    }
+
+    private record SlowQuery(long sequence, LocalDateTime capturedAt, String pool, String repository,
+                             String operation, String sql, List<String> parameters, long elapsedMs,
+                             Long firstRowMs, long rows, boolean failed) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("capturedAt", capturedAt);
+            map.put("repository", repository);
+            map.put("operation", operation);
+            map.put("pool", pool);
+            map.put("elapsedMs", elapsedMs);
+            map.put("firstRowMs", firstRowMs);
+            map.put("rows", rows);
+            map.put("failed", failed);
+            map.put("sql", sql);
+            map.put("parameters", parameters);
+            return map;
+        }
+    }
+}
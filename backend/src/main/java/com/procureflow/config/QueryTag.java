@@ -0,0 +1,41 @@
+package com.procureflow.config;
+
+/**
+ * Query Tag
+ * The repository method whose SQL is running on the current thread, e.g.
+ * "PurchaseRequestJdbcRepository.findAll"; used to label statement metrics
+ */
+public final class QueryTag {
+
+    public static final String UNTAGGED = "other";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private QueryTag() {
+    }
+
+    /**
+     * Current tag, or UNTAGGED outside repository methods
+     */
+    public static String current() {
+        String tag = CURRENT.get();
+        return tag != null ? tag : UNTAGGED;
+    }
+
+    /**
+     * Set the tag for the current thread, returning the previous one for restore
+     */
+    public static String enter(String tag) {
+        String previous = CURRENT.get();
+        CURRENT.set(tag);
+        return previous;
+    }
+
+    public static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
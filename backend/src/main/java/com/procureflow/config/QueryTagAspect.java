@@ -0,0 +1,29 @@
+package com.procureflow.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Query Tag Aspect
+ * Tags SQL issued inside repository methods with "Repository.method". Nested
+ * repository calls tag their own statements and restore the caller's tag.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "procureflow.datasource.instrumentation", name = "enabled", matchIfMissing = true)
+public class QueryTagAspect {
+
+    @Around("execution(public * com.procureflow.repository..*.*(..))")
+    public Object tagQueries(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = QueryTag.enter(joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            QueryTag.restore(previous);
+        }
+    }
+}
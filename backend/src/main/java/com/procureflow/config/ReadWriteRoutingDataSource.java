@@ -0,0 +1,68 @@
+package com.procureflow.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read Write Routing DataSource
+ * Picks the connection pool for each unit of work. Read-only work goes to the
+ * replica pool when one is configured, except while the replica lags too far
+ * behind or for a short window after the current user's own writes. Everything
+ * else goes to the pool of the current workload class (see @Workload). Must sit
+ * behind a LazyConnectionDataSourceProxy so the transaction's read-only flag and
+ * workload are known when the connection is fetched.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String REPLICA = "REPLICA";
+
+    private final boolean replicaConfigured;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writesTracker;
+    private final boolean readOnlyByDefault;
+    private final WorkloadClass defaultWorkload;
+
+    /**
+     * @param workloadPools pool per workload class; OLTP is required
+     * @param replica the replica pool, or null
+     * @param readOnlyByDefault treat work outside a transaction as a read (for reporting templates)
+     * @param defaultWorkload workload class used when none was declared on the thread
+     */
+    public ReadWriteRoutingDataSource(Map<WorkloadClass, DataSource> workloadPools, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker,
+                                      boolean readOnlyByDefault, WorkloadClass defaultWorkload) {
+        this.replicaConfigured = replica != null;
+        this.lagMonitor = lagMonitor;
+        this.writesTracker = writesTracker;
+        this.readOnlyByDefault = readOnlyByDefault;
+        this.defaultWorkload = defaultWorkload;
+
+        Map<Object, Object> targets = new HashMap<>(workloadPools);
+        if (replica != null) {
+            targets.put(REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(workloadPools.get(WorkloadClass.OLTP));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaConfigured && isRead() && lagMonitor.isReplicaUsable()
+                && !writesTracker.isSticky(lagMonitor.getLagMillis())) {
+            return REPLICA;
+        }
+        WorkloadClass workload = WorkloadContext.current();
+        return workload != null ? workload : defaultWorkload;
+    }
+
+    private boolean isRead() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                ? TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                : readOnlyByDefault;
+    }
+}
@@ -0,0 +1,61 @@
+package com.procureflow.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.procureflow.security.services.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Read Your Writes Tracker
+ * Remembers when each user last committed a write, so their reads stay on the
+ * primary until the replica has had time to catch up
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    @Value("${procureflow.datasource.replica.sticky-window-ms:5000}")
+    private long stickyWindowMs;
+
+    private final Cache<Long, Long> lastWrites = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    /**
+     * Record a committed write by the current user, if there is one
+     */
+    public void recordWrite() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            lastWrites.put(userId, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Whether the current user wrote recently enough that a lagging replica may not show it
+     */
+    public boolean isSticky(long replicaLagMillis) {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.getIfPresent(userId);
+        return lastWrite != null
+                && System.currentTimeMillis() - lastWrite < Math.max(stickyWindowMs, replicaLagMillis);
+    }
+
+    public long getTrackedUsers() {
+        return lastWrites.estimatedSize();
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId() : null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.procureflow.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replica Lag Monitor
+ * Periodically measures how far the read replica is behind the primary. Reads
+ * fall back to the primary while the replica is unreachable, not replicating,
+ * or further behind than max-lag-seconds.
+ */
+@Component
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private ObjectProvider<DataSource> replicaDataSource;
+
+    @Value("${procureflow.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    // MySQL 8.0.22+; older servers use SHOW SLAVE STATUS
+    @Value("${procureflow.datasource.replica.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+
+    private volatile boolean usable;
+    private volatile long lagMillis;
+    private volatile boolean lagQuerySupported = true;
+    private volatile long lastCheck;
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${procureflow.datasource.replica.lag-check-interval-ms:2000}")
+    public void check() {
+        DataSource replica = replicaDataSource.getIfAvailable();
+        if (replica == null) {
+            return;
+        }
+
+        boolean wasUsable = usable;
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            Long lagSeconds = lagQuerySupported ? queryLagSeconds(statement) : Long.valueOf(0L);
+            if (lagSeconds == null) {
+                // Replication is stopped or broken; the data may be arbitrarily old
+                usable = false;
+            } else {
+                lagMillis = lagSeconds * 1000;
+                usable = lagSeconds <= maxLagSeconds;
+            }
+        } catch (SQLException e) {
+            usable = false;
+            logger.debug("Replica health check failed: {}", e.getMessage());
+        }
+        lastCheck = System.currentTimeMillis();
+
+        if (wasUsable != usable) {
+            logger.warn("Read replica is now {} (lag {} ms)", usable ? "in use" : "bypassed", lagMillis);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("configured", replicaDataSource.getIfAvailable() != null);
+        stats.put("usable", usable);
+        stats.put("lagMillis", lagMillis);
+        stats.put("maxLagSeconds", maxLagSeconds);
+        stats.put("lastCheck", lastCheck);
+        return stats;
+    }
+
+    /**
+     * Seconds behind the primary, or null when the server reports replication as not running
+     */
+    private Long queryLagSeconds(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                // Not configured as a replica (e.g. a second local instance): treat as current
+                return 0L;
+            }
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                String column = meta.getColumnLabel(i);
+                if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                    long seconds = rs.getLong(i);
+                    return rs.wasNull() ? null : seconds;
+                }
+            }
+            return 0L;
+        } catch (SQLException e) {
+            if (!isUnsupported(e)) {
+                // Timeout, dropped connection, ...: the replica is bypassed until a later probe succeeds
+                throw e;
+            }
+            // No privilege or not MySQL (H2): only reachability is checked from now on
+            lagQuerySupported = false;
+            logger.info("Replica lag query unavailable ({}), checking reachability only", e.getMessage());
+            statement.execute("SELECT 1");
+            return 0L;
+        }
+    }
+
+    /**
+     * Whether the lag query can never succeed here: syntax errors and access rule
+     * violations (SQLState class 42, MySQL reports both as 42000) or invalid authorization (28)
+     */
+    private static boolean isUnsupported(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("42") || state.startsWith("28"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.procureflow.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Slow Queries Endpoint
+ * /actuator/slowqueries: the most recent statements over the slow query
+ * threshold, with repository method, timings, row count and bind parameters
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    @Autowired
+    private QueryInstrumentation queryInstrumentation;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> result = queryInstrumentation.getStatistics();
+        result.put("queries", queryInstrumentation.getSlowQueries());
+        return result;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clear() {
+        queryInstrumentation.clearSlowQueries();
+        return queryInstrumentation.getStatistics();
+    }
+}
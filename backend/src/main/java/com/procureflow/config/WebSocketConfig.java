@@ -1,10 +1,25 @@
 package com.procureflow.config;
 
+import com.procureflow.security.jwt.StompAuthChannelInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * WebSocket Configuration
@@ -14,6 +29,22 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    @Value("${procureflow.websocket.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${procureflow.websocket.compact-encoding.enabled:true}")
+    private boolean compactEncodingEnabled;
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Bean
+    public CompactEncodingInterceptor compactEncodingInterceptor() {
+        return new CompactEncodingInterceptor();
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple in-memory message broker to carry messages back to the client
@@ -35,6 +66,72 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         
         // Register additional endpoint without SockJS for native WebSocket
         registry.addEndpoint("/websocket")
+                .setHandshakeHandler(handshakeHandler())
+                .addInterceptors(nativeTransportInterceptor())
                 .setAllowedOriginPatterns("*");
     }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Decode application/cbor frames from clients; keep the default JSON converters
+        if (compactEncodingEnabled) {
+            messageConverters.add(new CborMessageConverter());
+        }
+        return true;
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Authenticate CONNECT frames first so later interceptors see the bound principal
+        registration.interceptors(stompAuthChannelInterceptor);
+        if (compactEncodingEnabled) {
+            registration.interceptors(compactEncodingInterceptor());
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (compactEncodingEnabled) {
+            registration.interceptors(compactEncodingInterceptor().outbound());
+        }
+    }
+
+    /**
+     * Handshake handler that only offers permessage-deflate when enabled
+     */
+    private DefaultHandshakeHandler handshakeHandler() {
+        return new DefaultHandshakeHandler() {
+            @Override
+            protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                    List<WebSocketExtension> requestedExtensions, List<WebSocketExtension> supportedExtensions) {
+                List<WebSocketExtension> extensions =
+                        super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+                if (compressionEnabled) {
+                    return extensions;
+                }
+                return extensions.stream()
+                        .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                        .toList();
+            }
+        };
+    }
+
+    /**
+     * Marks sessions on the native endpoint, the only ones that can receive binary frames
+     */
+    private HandshakeInterceptor nativeTransportInterceptor() {
+        return new HandshakeInterceptor() {
+            @Override
+            public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                           WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                attributes.put(CompactEncodingInterceptor.NATIVE_TRANSPORT_ATTRIBUTE, Boolean.TRUE);
+                return true;
+            }
+
+            @Override
+            public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Exception exception) {
+            }
+        };
+    }
 }
@@ -0,0 +1,21 @@
+package com.procureflow.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Workload
+ * Runs the annotated method (or every method of the annotated class) on the
+ * connection pool of the given workload class. Takes effect when the method
+ * opens its connection, so annotate the outermost transactional entry point.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadClass value();
+}
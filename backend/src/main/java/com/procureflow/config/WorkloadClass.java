@@ -0,0 +1,14 @@
+package com.procureflow.config;
+
+/**
+ * Workload Class
+ * Each class of database work gets its own connection pool, so one cannot starve another
+ */
+public enum WorkloadClass {
+    /** User-facing reads and writes: logins, CRUD endpoints */
+    OLTP,
+    /** Dashboard statistics, breakdowns and searches */
+    REPORTING,
+    /** Scheduled jobs and async processing */
+    BACKGROUND
+}
@@ -0,0 +1,28 @@
+package com.procureflow.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Workload JdbcTemplate
+ * Template bound to one workload's DataSource (e.g. reporting). Outside a
+ * transaction it uses that DataSource; inside one it joins the transaction's
+ * connection so it sees the transaction's own uncommitted writes.
+ */
+public class WorkloadJdbcTemplate extends JdbcTemplate {
+
+    private final DataSource transactionalDataSource;
+
+    public WorkloadJdbcTemplate(DataSource workloadDataSource, DataSource transactionalDataSource) {
+        super(workloadDataSource);
+        this.transactionalDataSource = transactionalDataSource;
+    }
+
+    @Override
+    public DataSource getDataSource() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                ? transactionalDataSource : super.getDataSource();
+    }
+}
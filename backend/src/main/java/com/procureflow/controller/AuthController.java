@@ -3,29 +3,41 @@ package com.procureflow.controller;
 import com.procureflow.dto.auth.JwtResponse;
 import com.procureflow.dto.auth.LoginRequest;
 import com.procureflow.dto.auth.SignUpRequest;
+import com.procureflow.dto.auth.TokenRefreshRequest;
 import com.procureflow.entity.ERole;
 import com.procureflow.entity.Role;
 import com.procureflow.entity.User;
 import com.procureflow.repository.RoleRepository;
 import com.procureflow.repository.UserRepository;
+import com.procureflow.security.jwt.JwtPrincipalResolver;
 import com.procureflow.security.jwt.JwtUtils;
+import com.procureflow.security.jwt.JwtVerifier;
+import com.procureflow.security.services.CredentialService;
+import com.procureflow.security.services.RefreshTokenService;
+import com.procureflow.security.services.RevokedTokenStore;
+import com.procureflow.security.services.UserDetailsServiceImpl;
 import com.procureflow.security.services.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -39,7 +51,7 @@ import java.util.stream.Collectors;
 public class AuthController {
 
     @Autowired
-    AuthenticationManager authenticationManager;
+    UserDetailsServiceImpl userDetailsService;
 
     @Autowired
     UserRepository userRepository;
@@ -48,37 +60,105 @@ public class AuthController {
     RoleRepository roleRepository;
 
     @Autowired
-    PasswordEncoder encoder;
+    CredentialService credentialService;
 
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    JwtVerifier jwtVerifier;
+
+    @Autowired
+    JwtPrincipalResolver jwtPrincipalResolver;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    RevokedTokenStore revokedTokenStore;
+
     @PostMapping("/signin")
     @Operation(summary = "User login", description = "Authenticate user and return JWT token")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        // The account lookup stays on the request thread; only the hash check goes to the hashing executor
+        UserPrincipal principal;
+        try {
+            principal = (UserPrincipal) userDetailsService.loadUserByUsername(loginRequest.getUsernameOrEmail());
+        } catch (UsernameNotFoundException e) {
+            principal = null;
+        }
+        String rawPassword = loginRequest.getPassword();
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsernameOrEmail(),
-                        loginRequest.getPassword())
-        );
+        CompletableFuture<Boolean> hashing;
+        try {
+            hashing = credentialService.matchesAsync(rawPassword, principal != null ? principal.getPassword() : null);
+        } catch (CredentialService.HashingCapacityExceededException e) {
+            return CompletableFuture.completedFuture(busyResponse(e));
+        }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
+        // Timing out the hash future itself keeps a still-queued check from running later
+        UserPrincipal candidate = principal;
+        return hashing
+                .orTimeout(credentialService.getHashTimeoutMs(), TimeUnit.MILLISECONDS)
+                .<ResponseEntity<?>>thenApplyAsync(matched -> completeSignIn(candidate, rawPassword, matched),
+                        credentialService.getCompletionExecutor())
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        return busyResponse(new CredentialService.HashingCapacityExceededException());
+                    }
+                    if (cause instanceof CredentialService.HashingCapacityExceededException busy) {
+                        return busyResponse(busy);
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                });
+    }
 
-        UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(item -> item.getAuthority())
-                .collect(Collectors.toList());
+    private ResponseEntity<?> completeSignIn(UserPrincipal principal, String rawPassword, boolean matched) {
+        if (principal == null || !matched || !principal.isEnabled() || !principal.isAccountNonLocked()
+                || !principal.isAccountNonExpired() || !principal.isCredentialsNonExpired()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse("Error: Invalid username or password"));
+        }
+        if (credentialService.needsRehash(principal.getPassword())) {
+            principal = (UserPrincipal) userDetailsService.updatePassword(principal, credentialService.encode(rawPassword));
+        }
+        String jwt = jwtUtils.generateAccessToken(principal);
+        String refreshToken = refreshTokenService.issue(principal.getId());
+        return ResponseEntity.ok(buildJwtResponse(jwt, refreshToken, principal));
+    }
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
-                userDetails.getId(),
-                userDetails.getUsername(),
-                userDetails.getEmail(),
-                userDetails.getFirstName(),
-                userDetails.getLastName(),
-                userDetails.getDepartment(),
-                roles));
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchange a refresh token for a new access token and a rotated refresh token")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+            String jwt = jwtUtils.generateAccessToken(rotation.principal());
+            return ResponseEntity.ok(buildJwtResponse(jwt, rotation.refreshToken(), rotation.principal()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "User logout", description = "Revoke the current access token and the refresh token family")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String token,
+                                    @RequestBody(required = false) TokenRefreshRequest refreshRequest) {
+        if (token != null && token.startsWith("Bearer ")) {
+            Claims claims = jwtVerifier.verify(token.substring(7));
+            if (claims != null && claims.getId() != null) {
+                Object userId = claims.get(JwtPrincipalResolver.CLAIM_USER_ID);
+                revokedTokenStore.revoke(claims.getId(),
+                        userId instanceof Number number ? number.longValue() : null,
+                        LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+            }
+        }
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        }
+        return ResponseEntity.ok(new MessageResponse("Logged out successfully"));
     }
 
     @PostMapping("/signup")
@@ -95,10 +175,17 @@ public class AuthController {
                     .body(new MessageResponse("Error: Email is already in use!"));
         }
 
+        String encodedPassword;
+        try {
+            encodedPassword = credentialService.encode(signUpRequest.getPassword());
+        } catch (CredentialService.HashingCapacityExceededException e) {
+            return busyResponse(e);
+        }
+
         // Create new user's account
         User user = new User(signUpRequest.getUsername(),
                             signUpRequest.getEmail(),
-                            encoder.encode(signUpRequest.getPassword()),
+                            encodedPassword,
                             signUpRequest.getFirstName(),
                             signUpRequest.getLastName());
 
@@ -120,18 +207,39 @@ public class AuthController {
     @GetMapping("/validate")
     @Operation(summary = "Validate JWT token", description = "Validate the provided JWT token")
     public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String token) {
-        try {
-            String jwt = token.substring(7); // Remove "Bearer " prefix
-            if (jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                return ResponseEntity.ok(new MessageResponse("Token is valid for user: " + username));
-            }
-        } catch (Exception e) {
+        // Same checks as AuthTokenFilter: signature and expiry, then revocation of the token or its user
+        Claims claims = token.startsWith("Bearer ") ? jwtVerifier.verify(token.substring(7)) : null;
+        UserDetails principal = claims != null && !JwtPrincipalResolver.isStreamScoped(claims)
+                ? jwtPrincipalResolver.resolve(claims) : null;
+        if (principal == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new MessageResponse("Invalid token"));
         }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(new MessageResponse("Invalid token"));
+        return ResponseEntity.ok(new MessageResponse("Token is valid for user: " + principal.getUsername()));
+    }
+
+    private ResponseEntity<?> busyResponse(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse(e.getMessage()));
+    }
+
+    private JwtResponse buildJwtResponse(String jwt, String refreshToken, UserPrincipal userDetails) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(item -> item.getAuthority())
+                .collect(Collectors.toList());
+
+        JwtResponse response = new JwtResponse(jwt,
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                userDetails.getFirstName(),
+                userDetails.getLastName(),
+                userDetails.getDepartment(),
+                roles);
+        response.setRefreshToken(refreshToken);
+        response.setExpiresIn((long) jwtUtils.getJwtExpirationMs());
+        return response;
     }
 
     // Simple message response class
@@ -0,0 +1,80 @@
+package com.procureflow.controller;
+
+import com.procureflow.entity.ApprovalStatus;
+import com.procureflow.entity.OrderStatus;
+import com.procureflow.entity.RequestStatus;
+import com.procureflow.service.ExportFormat;
+import com.procureflow.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Export Controller
+ * Bulk CSV / NDJSON downloads, written to the response while the rows are read
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/exports")
+@Tag(name = "Exports", description = "Streaming CSV and NDJSON exports")
+@PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/purchase-requests")
+    @Operation(summary = "Export purchase requests", description = "Stream all purchase requests as CSV or NDJSON")
+    public void exportPurchaseRequests(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) RequestStatus status,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = prepare(response, format, "purchase-requests");
+        exportService.exportPurchaseRequests(exportFormat, status, response.getOutputStream());
+    }
+
+    @GetMapping("/purchase-orders")
+    @Operation(summary = "Export purchase orders", description = "Stream all purchase orders as CSV or NDJSON")
+    public void exportPurchaseOrders(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) OrderStatus status,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = prepare(response, format, "purchase-orders");
+        exportService.exportPurchaseOrders(exportFormat, status, response.getOutputStream());
+    }
+
+    @GetMapping("/approvals")
+    @Operation(summary = "Export approvals", description = "Stream all approvals as CSV or NDJSON")
+    public void exportApprovals(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) ApprovalStatus status,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = prepare(response, format, "approvals");
+        exportService.exportApprovals(exportFormat, status, response.getOutputStream());
+    }
+
+    private static ExportFormat prepare(HttpServletResponse response, String format, String name) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + exportFormat.getExtension() + "\"");
+        // Rows are produced as they are read; proxies must not hold the body back
+        response.setHeader("X-Accel-Buffering", "no");
+        return exportFormat;
+    }
+}
@@ -0,0 +1,90 @@
+package com.procureflow.controller;
+
+import com.procureflow.security.services.UserPrincipal;
+import com.procureflow.service.BulkImportService;
+import com.procureflow.service.ExportFormat;
+import com.procureflow.service.ImportJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Import Controller
+ * Bulk CSV / NDJSON uploads, read from the request body and imported in the background
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/imports")
+@Tag(name = "Imports", description = "Streaming CSV and NDJSON imports")
+@PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @PostMapping("/purchase-requests")
+    @Operation(summary = "Import purchase requests",
+            description = "Upload purchase requests as a raw CSV or NDJSON body; rows without requestedByEmail are filed under the caller; only ADMIN may name another requester or a status other than PENDING")
+    public ResponseEntity<?> importPurchaseRequests(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletRequest request) throws IOException {
+        ExportFormat importFormat;
+        try {
+            importFormat = ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported import format: " + format);
+        }
+
+        try {
+            // Attributing rows to other users and importing non-PENDING statuses is reserved to ADMIN
+            boolean admin = principal.getAuthorities().stream()
+                    .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+            ImportJob job = bulkImportService.submit(importFormat, request.getInputStream(), principal.getId(), admin);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/imports/" + job.getId()))
+                    .body(job.toMap());
+        } catch (BulkImportService.ImportCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "60")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Import progress", description = "Rows read, imported and failed so far")
+    public ResponseEntity<?> getImport(@PathVariable String id) {
+        return bulkImportService.findJob(id)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(job.toMap()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/errors")
+    @Operation(summary = "Import errors", description = "CSV of rejected rows with their line number and reason")
+    public void getImportErrors(@PathVariable String id, HttpServletResponse response) throws IOException {
+        ImportJob job = bulkImportService.findJob(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found: " + id));
+        if (!Files.exists(job.getErrorFile())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import has not started yet: " + id);
+        }
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-" + id + "-errors.csv\"");
+        Files.copy(job.getErrorFile(), response.getOutputStream());
+    }
+}
@@ -4,6 +4,7 @@ import com.procureflow.dto.request.PurchaseRequestDTO;
 import com.procureflow.entity.Priority;
 import com.procureflow.entity.RequestStatus;
 import com.procureflow.repository.jdbc.PurchaseRequestJdbcRepository;
+import com.procureflow.repository.jdbc.SortableQuery;
 import com.procureflow.service.impl.PurchaseRequestJdbcService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -75,6 +76,10 @@ public class PurchaseRequestJdbcController {
             response.put("last", page >= Math.ceil((double) totalElements / size) - 1);
 
             return ResponseEntity.ok(response);
+        } catch (SortableQuery.InvalidSortException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch purchase requests: " + e.getMessage());
@@ -150,15 +155,15 @@ public class PurchaseRequestJdbcController {
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<Map<String, Object>> createRequest(@Valid @RequestBody PurchaseRequestDTO requestDTO) {
         try {
-            // Get current user ID from security context
-            Long currentUserId = getCurrentUserId();
-            
-            Long requestId = purchaseRequestRepository.createPurchaseRequest(requestDTO, currentUserId);
+            // Header and items are inserted together in one transaction
+            PurchaseRequestDTO created = purchaseRequestService.create(requestDTO);
             
             Map<String, Object> response = new HashMap<>();
-            response.put("id", requestId);
+            response.put("id", created.getId());
             response.put("message", "Purchase request created successfully");
-            response.put("requestNumber", "PR-" + String.format("%06d", requestId));
+            response.put("requestNumber", created.getRequestNumber());
+            response.put("totalAmount", created.getTotalAmount());
+            response.put("items", created.getItems());
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
@@ -225,6 +230,17 @@ public class PurchaseRequestJdbcController {
         }
     }
 
+    /**
+     * Get request by its request number (unique index lookup)
+     */
+    @GetMapping("/number/{requestNumber}")
+    @Operation(summary = "Get request by number", description = "Retrieve a purchase request by its request number, e.g. PR-2026-000123")
+    public ResponseEntity<PurchaseRequestDTO> getRequestByNumber(@PathVariable String requestNumber) {
+        return purchaseRequestService.findByRequestNumber(requestNumber)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Get request by ID (optimized single query)
      */
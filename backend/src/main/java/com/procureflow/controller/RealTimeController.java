@@ -1,17 +1,31 @@
 package com.procureflow.controller;
 
+import com.procureflow.config.CompactEncodingInterceptor;
 import com.procureflow.dto.realtime.NotificationDTO;
+import com.procureflow.security.jwt.JwtUtils;
+import com.procureflow.security.services.UserPrincipal;
 import com.procureflow.service.PurchaseRequestService;
+import com.procureflow.service.RealTimeEventLog;
 import com.procureflow.service.RealTimeNotificationService;
+import com.procureflow.service.SseStreamService;
+import com.procureflow.service.WebSocketSessionRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,6 +43,21 @@ public class RealTimeController {
     @Autowired
     private PurchaseRequestService purchaseRequestService;
 
+    @Autowired
+    private CompactEncodingInterceptor compactEncodingInterceptor;
+
+    @Autowired
+    private RealTimeEventLog eventLog;
+
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+
+    @Autowired
+    private SseStreamService sseStreamService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
     /**
      * Handle client heartbeat messages
      */
@@ -68,12 +97,64 @@ public class RealTimeController {
         );
     }
 
+    /**
+     * Handle client resume after reconnect: replay events missed on a topic
+     */
+    @MessageMapping("/replay")
+    @SendToUser("/queue/replay")
+    public Map<String, Object> replayMissedEvents(Map<String, Object> request) {
+        String topic = String.valueOf(request.get("topic"));
+        Object since = request.get("since");
+        long lastSeen = since instanceof Number number ? number.longValue() : 0L;
+        return eventLog.replay(topic, lastSeen);
+    }
+
+    /**
+     * REST endpoint to fetch events missed on a topic since a sequence
+     */
+    @GetMapping("/replay")
+    @Operation(summary = "Replay missed events", description = "Events on a topic after the given sequence, or a resync flag when the gap exceeds the buffer")
+    public ResponseEntity<Map<String, Object>> replay(
+            @RequestParam String topic,
+            @RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(eventLog.replay(topic, since));
+    }
+
+    /**
+     * Short-lived token for opening the SSE stream from a browser EventSource,
+     * which cannot send an Authorization header: GET /stream?access_token=...
+     */
+    @PostMapping("/stream-token")
+    @Operation(summary = "Issue SSE stream token", description = "Token accepted only as the access_token query parameter of /api/realtime/stream")
+    public ResponseEntity<Map<String, Object>> issueStreamToken(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(Map.of(
+            "token", jwtUtils.generateStreamToken(principal),
+            "expiresIn", jwtUtils.getStreamTokenExpirationMs()
+        ));
+    }
+
+    /**
+     * Server-Sent Events stream of the dashboard topics for read-only screens
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream dashboard events", description = "SSE stream of dashboard statistics and updates; resumes after the Last-Event-ID sequence")
+    public SseEmitter streamDashboard(
+            @RequestParam(defaultValue = "statistics,updates") List<String> topics,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        try {
+            return sseStreamService.subscribe(topics, lastEventId != null ? lastEventId : lastEventIdParam);
+        } catch (SseStreamService.UnknownTopicException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * REST endpoint to trigger test notification (for development)
      */
     @PostMapping("/test-notification")
     @Operation(summary = "Send test notification", description = "Send a test real-time notification")
-    public ResponseEntity<String> sendTestNotification(@RequestParam String message) {
+    public ResponseEntity<String> sendTestNotification(@RequestParam String message, Principal principal) {
         NotificationDTO notification = new NotificationDTO(
             "TEST_NOTIFICATION",
             "Test Notification",
@@ -81,9 +162,9 @@ public class RealTimeController {
         );
         notification.setTimestamp(LocalDateTime.now());
         
-        notificationService.sendPersonalNotification("demo", notification);
+        boolean delivered = notificationService.sendPersonalNotification(principal.getName(), notification);
         
-        return ResponseEntity.ok("Test notification sent");
+        return ResponseEntity.ok(delivered ? "Test notification sent" : "No open WebSocket session for " + principal.getName());
     }
 
     /**
@@ -96,6 +177,26 @@ public class RealTimeController {
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * REST endpoint to compare JSON and CBOR frame sizes for live traffic
+     */
+    @GetMapping("/encoding-stats")
+    @Operation(summary = "Get frame encoding statistics", description = "Bytes per message and encode time for CBOR versus JSON")
+    public ResponseEntity<Map<String, Object>> getEncodingStatistics() {
+        return ResponseEntity.ok(compactEncodingInterceptor.getStatistics());
+    }
+
+    /**
+     * REST endpoint to inspect authenticated WebSocket sessions
+     */
+    @GetMapping("/sessions")
+    @Operation(summary = "Get session statistics", description = "Connected users, authenticated STOMP sessions and SSE streams on this node")
+    public ResponseEntity<Map<String, Object>> getSessionStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>(sessionRegistry.getStatistics());
+        statistics.put("sse", sseStreamService.getStatistics());
+        return ResponseEntity.ok(statistics);
+    }
+
     /**
      * REST endpoint to trigger statistics broadcast (for development)
      */
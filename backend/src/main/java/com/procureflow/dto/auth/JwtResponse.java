@@ -10,6 +10,8 @@ public class JwtResponse {
 
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    private Long expiresIn;
     private Long id;
     private String username;
     private String email;
@@ -37,6 +39,12 @@ public class JwtResponse {
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
 
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
+    public Long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(Long expiresIn) { this.expiresIn = expiresIn; }
+
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
 
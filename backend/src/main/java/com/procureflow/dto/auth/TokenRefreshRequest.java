@@ -0,0 +1,24 @@
+package com.procureflow.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Token Refresh Request DTO
+ * Data transfer object for exchanging a refresh token
+ */
+public class TokenRefreshRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+
+    // Constructors
+    public TokenRefreshRequest() {}
+
+    public TokenRefreshRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Getters and Setters
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
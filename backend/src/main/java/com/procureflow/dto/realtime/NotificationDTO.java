@@ -6,13 +6,14 @@ import java.time.LocalDateTime;
  * Real-time Notification DTO
  * Data transfer object for real-time notifications
  */
-public class NotificationDTO {
+public class NotificationDTO implements SequencedEvent {
 
     private String type;
     private String title;
     private String message;
     private Object data;
     private LocalDateTime timestamp;
+    private Long sequence;
     private String action;
     private String priority;
     private String userId;
@@ -43,6 +44,9 @@ public class NotificationDTO {
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
 
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+
     public String getAction() { return action; }
     public void setAction(String action) { this.action = action; }
 
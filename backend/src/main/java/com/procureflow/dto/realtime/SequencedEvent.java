@@ -0,0 +1,12 @@
+package com.procureflow.dto.realtime;
+
+/**
+ * Sequenced Event
+ * Real-time payload carrying the event log sequence number it was published under
+ */
+public interface SequencedEvent {
+
+    Long getSequence();
+
+    void setSequence(Long sequence);
+}
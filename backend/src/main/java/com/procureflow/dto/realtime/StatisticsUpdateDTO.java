@@ -7,11 +7,12 @@ import java.util.Map;
  * Statistics Update DTO
  * Real-time statistics data transfer object
  */
-public class StatisticsUpdateDTO {
+public class StatisticsUpdateDTO implements SequencedEvent {
 
     private String type;
     private Map<String, Object> statistics;
     private LocalDateTime timestamp;
+    private Long sequence;
 
     // Constructors
     public StatisticsUpdateDTO() {}
@@ -31,4 +32,7 @@ public class StatisticsUpdateDTO {
 
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
 }
@@ -2,6 +2,7 @@ package com.procureflow.dto.request;
 
 import com.procureflow.entity.Priority;
 import com.procureflow.entity.RequestStatus;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.DecimalMin;
@@ -46,6 +47,7 @@ public class PurchaseRequestDTO {
     private Long assignedToId;
     private String assignedToName;
 
+    @Valid
     private List<RequestItemDTO> items;
 
     private String requestNumber;
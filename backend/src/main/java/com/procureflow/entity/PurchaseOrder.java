@@ -80,7 +80,6 @@ public class PurchaseOrder {
         this.createdBy = createdBy;
         this.totalAmount = purchaseRequest.getTotalAmount();
         this.status = OrderStatus.PENDING;
-        this.orderNumber = generateOrderNumber();
     }
 
     // Getters and Setters
@@ -128,16 +127,4 @@ public class PurchaseOrder {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
-
-    // Utility methods
-    private String generateOrderNumber() {
-        return "PO-" + System.currentTimeMillis();
-    }
-
-    @PrePersist
-    private void prePersist() {
-        if (orderNumber == null) {
-            orderNumber = generateOrderNumber();
-        }
-    }
 }
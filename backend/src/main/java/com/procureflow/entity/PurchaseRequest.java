@@ -26,6 +26,9 @@ public class PurchaseRequest {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "request_number", unique = true, length = 32)
+    private String requestNumber;
+
     @NotBlank
     @Column(name = "title", nullable = false)
     private String title;
@@ -99,6 +102,9 @@ public class PurchaseRequest {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public String getRequestNumber() { return requestNumber; }
+    public void setRequestNumber(String requestNumber) { this.requestNumber = requestNumber; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
@@ -154,8 +160,4 @@ public class PurchaseRequest {
         items.remove(item);
         item.setPurchaseRequest(null);
     }
-
-    public String getRequestNumber() {
-        return "PR-" + String.format("%06d", id);
-    }
 }
@@ -3,7 +3,9 @@ package com.procureflow.repository.jdbc;
 import com.procureflow.entity.Approval;
 import com.procureflow.entity.ApprovalStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -28,25 +30,30 @@ public class ApprovalJdbcRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private final RowMapper<Approval> rowMapper = new ApprovalRowMapper();
+    // Exports: rows streamed from the server with no maxRows cap
+    @Autowired
+    @Qualifier("streamingJdbcTemplate")
+    private JdbcTemplate streamingJdbcTemplate;
+
+    // List views leave out the TEXT comments column; only single fetches load it
+    private static final Projection<Approval> SUMMARY = new Projection<>(
+            "a.id, a.status, a.level, a.created_at, a.updated_at",
+            new ApprovalSummaryRowMapper());
+
+    private static final Projection<Approval> DETAIL = new Projection<>(
+            "a.id, a.status, a.level, a.comments, a.created_at, a.updated_at",
+            new ApprovalDetailRowMapper());
 
     /**
      * Find approval by ID
      */
     public Optional<Approval> findById(Long id) {
-        String sql = """
-            SELECT a.*, 
-                   pr.title as request_title, pr.department, pr.total_amount as request_amount,
-                   u.first_name as approver_first_name, u.last_name as approver_last_name, u.email as approver_email,
-                   req.first_name as requester_first_name, req.last_name as requester_last_name
+        String sql = DETAIL.select("""
             FROM approvals a
-            LEFT JOIN purchase_requests pr ON a.purchase_request_id = pr.id
-            LEFT JOIN users u ON a.approver_id = u.id
-            LEFT JOIN users req ON pr.requested_by = req.id
             WHERE a.id = ?
-            """;
+            """);
 
-        List<Approval> results = jdbcTemplate.query(sql, rowMapper, id);
+        List<Approval> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), id);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -54,104 +61,89 @@ public class ApprovalJdbcRepository {
      * Find approvals by purchase request ID
      */
     public List<Approval> findByPurchaseRequestId(Long purchaseRequestId) {
-        String sql = """
-            SELECT a.*, 
-                   pr.title as request_title, pr.department, pr.total_amount as request_amount,
-                   u.first_name as approver_first_name, u.last_name as approver_last_name, u.email as approver_email,
-                   req.first_name as requester_first_name, req.last_name as requester_last_name
+        // Approval history of one request; comments are what this view is for
+        String sql = DETAIL.select("""
             FROM approvals a
-            LEFT JOIN purchase_requests pr ON a.purchase_request_id = pr.id
-            LEFT JOIN users u ON a.approver_id = u.id
-            LEFT JOIN users req ON pr.requested_by = req.id
             WHERE a.purchase_request_id = ?
             ORDER BY a.created_at ASC
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, purchaseRequestId);
+        return jdbcTemplate.query(sql, DETAIL.rowMapper(), purchaseRequestId);
     }
 
     /**
      * Find approvals by approver ID with pagination
      */
     public List<Approval> findByApproverId(Long approverId, int page, int size) {
-        String sql = """
-            SELECT a.*, 
-                   pr.title as request_title, pr.department, pr.total_amount as request_amount,
-                   u.first_name as approver_first_name, u.last_name as approver_last_name, u.email as approver_email,
-                   req.first_name as requester_first_name, req.last_name as requester_last_name
+        String sql = SUMMARY.select("""
             FROM approvals a
-            LEFT JOIN purchase_requests pr ON a.purchase_request_id = pr.id
-            LEFT JOIN users u ON a.approver_id = u.id
-            LEFT JOIN users req ON pr.requested_by = req.id
             WHERE a.approver_id = ?
             ORDER BY a.created_at DESC
             LIMIT ? OFFSET ?
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, approverId, size, page * size);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), approverId, size, page * size);
     }
 
     /**
      * Find approvals by status with pagination
      */
     public List<Approval> findByStatus(ApprovalStatus status, int page, int size) {
-        String sql = """
-            SELECT a.*, 
-                   pr.title as request_title, pr.department, pr.total_amount as request_amount,
-                   u.first_name as approver_first_name, u.last_name as approver_last_name, u.email as approver_email,
-                   req.first_name as requester_first_name, req.last_name as requester_last_name
+        String sql = SUMMARY.select("""
             FROM approvals a
-            LEFT JOIN purchase_requests pr ON a.purchase_request_id = pr.id
-            LEFT JOIN users u ON a.approver_id = u.id
-            LEFT JOIN users req ON pr.requested_by = req.id
             WHERE a.status = ?
             ORDER BY a.created_at DESC
             LIMIT ? OFFSET ?
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, status.name(), size, page * size);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), status.name(), size, page * size);
     }
 
     /**
      * Find approvals by approver and status
      */
     public List<Approval> findByApproverIdAndStatus(Long approverId, ApprovalStatus status, int page, int size) {
-        String sql = """
-            SELECT a.*, 
-                   pr.title as request_title, pr.department, pr.total_amount as request_amount,
-                   u.first_name as approver_first_name, u.last_name as approver_last_name, u.email as approver_email,
-                   req.first_name as requester_first_name, req.last_name as requester_last_name
+        String sql = SUMMARY.select("""
             FROM approvals a
-            LEFT JOIN purchase_requests pr ON a.purchase_request_id = pr.id
-            LEFT JOIN users u ON a.approver_id = u.id
-            LEFT JOIN users req ON pr.requested_by = req.id
             WHERE a.approver_id = ? AND a.status = ?
             ORDER BY a.created_at DESC
             LIMIT ? OFFSET ?
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, approverId, status.name(), size, page * size);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), approverId, status.name(), size, page * size);
     }
 
     /**
      * Find pending approvals
      */
     public List<Approval> findPendingApprovals(int limit) {
-        String sql = """
-            SELECT a.*, 
-                   pr.title as request_title, pr.department, pr.total_amount as request_amount,
-                   u.first_name as approver_first_name, u.last_name as approver_last_name, u.email as approver_email,
-                   req.first_name as requester_first_name, req.last_name as requester_last_name
+        String sql = SUMMARY.select("""
             FROM approvals a
-            LEFT JOIN purchase_requests pr ON a.purchase_request_id = pr.id
-            LEFT JOIN users u ON a.approver_id = u.id
-            LEFT JOIN users req ON pr.requested_by = req.id
+            JOIN purchase_requests pr ON a.purchase_request_id = pr.id
             WHERE a.status = 'PENDING'
             ORDER BY pr.priority DESC, a.created_at ASC
             LIMIT ?
+            """);
+
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), limit);
+    }
+
+    /**
+     * Stream every approval, optionally of one status, to the extractor, which reads the open cursor row by row
+     */
+    public void streamForExport(ApprovalStatus status, ResultSetExtractor<?> extractor) {
+        String sql = """
+            SELECT a.id, a.purchase_request_id, u.email as approver_email, a.level, a.status,
+                   a.created_at, a.updated_at, a.comments
+            FROM approvals a
+            LEFT JOIN users u ON a.approver_id = u.id
             """;
 
-        return jdbcTemplate.query(sql, rowMapper, limit);
+        if (status == null) {
+            streamingJdbcTemplate.query(sql + " ORDER BY a.id", extractor);
+        } else {
+            streamingJdbcTemplate.query(sql + " WHERE a.status = ? ORDER BY a.id", extractor, status.name());
+        }
     }
 
     /**
@@ -322,17 +314,19 @@ public class ApprovalJdbcRepository {
     }
 
     /**
-     * Row mapper for Approval
+     * Row mapper for the Approval summary projection
      */
-    private static class ApprovalRowMapper implements RowMapper<Approval> {
+    private static class ApprovalSummaryRowMapper implements RowMapper<Approval> {
+
+        private static final EnumLookup<ApprovalStatus> STATUSES = EnumLookup.of(ApprovalStatus.class);
+
         @Override
         public Approval mapRow(ResultSet rs, int rowNum) throws SQLException {
             Approval approval = new Approval();
             
             approval.setId(rs.getLong("id"));
-            approval.setStatus(ApprovalStatus.valueOf(rs.getString("status")));
+            approval.setStatus(STATUSES.decode(rs.getString("status")));
             approval.setLevel(rs.getInt("level"));
-            approval.setComments(rs.getString("comments"));
 
             Timestamp createdAt = rs.getTimestamp("created_at");
             if (createdAt != null) {
@@ -347,4 +341,16 @@ public class ApprovalJdbcRepository {
             return approval;
         }
     }
+
+    /**
+     * Row mapper for the Approval detail projection
+     */
+    private static class ApprovalDetailRowMapper extends ApprovalSummaryRowMapper {
+        @Override
+        public Approval mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Approval approval = super.mapRow(rs, rowNum);
+            approval.setComments(rs.getString("comments"));
+            return approval;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.procureflow.repository.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum Lookup
+ * Decodes enum columns through a table built once per enum type, avoiding the
+ * reflective path and exception setup of Enum.valueOf on every row
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+    private final Class<E> type;
+    private final Map<String, E> byName;
+
+    private EnumLookup(Class<E> type) {
+        this.type = type;
+        E[] constants = type.getEnumConstants();
+        this.byName = new HashMap<>(constants.length * 2);
+        for (E constant : constants) {
+            byName.put(constant.name(), constant);
+        }
+    }
+
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return new EnumLookup<>(type);
+    }
+
+    /**
+     * Constant for a stored name; null stays null
+     */
+    public E decode(String name) {
+        if (name == null) {
+            return null;
+        }
+        E constant = byName.get(name);
+        if (constant == null) {
+            throw new RuntimeException("Unknown " + type.getSimpleName() + " value: " + name);
+        }
+        return constant;
+    }
+}
@@ -0,0 +1,49 @@
+package com.procureflow.repository.jdbc;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * JDBC Repository for Number Sequences
+ * Reserves blocks of business numbers. The UPDATE locks the sequence row until the
+ * reservation commits, so concurrent nodes always receive disjoint blocks.
+ */
+@Repository
+public class NumberSequenceJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String ADVANCE_SQL =
+            "UPDATE number_sequences SET next_value = next_value + ?, updated_at = NOW() WHERE name = ?";
+
+    private static final String CURRENT_SQL = "SELECT next_value FROM number_sequences WHERE name = ?";
+
+    private static final String CREATE_SQL =
+            "INSERT INTO number_sequences (name, next_value, updated_at) VALUES (?, ?, NOW())";
+
+    /**
+     * Reserve the next blockSize values of a sequence, creating it at 1 when missing.
+     * Runs in its own transaction so the block stays reserved even if the caller rolls back.
+     *
+     * @return first value of the block; the block is [first, first + blockSize)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserveBlock(String name, int blockSize) {
+        if (jdbcTemplate.update(ADVANCE_SQL, blockSize, name) == 0) {
+            try {
+                jdbcTemplate.update(CREATE_SQL, name, 1L + blockSize);
+                return 1L;
+            } catch (DuplicateKeyException e) {
+                // Another node created the sequence first; take the next block from it
+                jdbcTemplate.update(ADVANCE_SQL, blockSize, name);
+            }
+        }
+        Long next = jdbcTemplate.queryForObject(CURRENT_SQL, Long.class, name);
+        return next - blockSize;
+    }
+}
@@ -0,0 +1,19 @@
+package com.procureflow.repository.jdbc;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Projection
+ * A fixed column list paired with the row mapper that reads exactly those columns.
+ * List views select a narrow summary projection; large TEXT columns and secrets
+ * such as password hashes are only in the detail projection used for single fetches.
+ */
+public record Projection<T>(String columns, RowMapper<T> rowMapper) {
+
+    /**
+     * SELECT this projection's columns followed by the FROM ... part of a query
+     */
+    public String select(String fromClause) {
+        return "SELECT " + columns + "\n" + fromClause;
+    }
+}
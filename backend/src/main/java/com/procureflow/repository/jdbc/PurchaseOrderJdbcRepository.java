@@ -2,8 +2,11 @@ package com.procureflow.repository.jdbc;
 
 import com.procureflow.entity.OrderStatus;
 import com.procureflow.entity.PurchaseOrder;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -29,22 +32,52 @@ public class PurchaseOrderJdbcRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private final RowMapper<PurchaseOrder> rowMapper = new PurchaseOrderRowMapper();
+    @Autowired
+    private SortSpecRegistry sortSpecRegistry;
+
+    // Exports: rows streamed from the server with no maxRows cap
+    @Autowired
+    @Qualifier("streamingJdbcTemplate")
+    private JdbcTemplate streamingJdbcTemplate;
+
+    // List views leave out the contact details and the TEXT delivery/terms columns
+    private static final Projection<PurchaseOrder> SUMMARY = new Projection<>("""
+            po.id, po.order_number, po.status, po.total_amount, po.supplier_name,
+                   po.expected_delivery_date, po.created_at, po.updated_at""",
+            new PurchaseOrderSummaryRowMapper());
+
+    private static final Projection<PurchaseOrder> DETAIL = new Projection<>("""
+            po.id, po.order_number, po.status, po.total_amount, po.supplier_name,
+                   po.supplier_contact, po.supplier_email, po.delivery_address,
+                   po.terms_conditions, po.special_instructions,
+                   po.expected_delivery_date, po.created_at, po.updated_at""",
+            new PurchaseOrderDetailRowMapper());
+
+    // One precompiled query per filter combination: [none, status, search, status + search]
+    private final SortableQuery[] paginatedQueries = {
+            paginatedQuery(false, false),
+            paginatedQuery(true, false),
+            paginatedQuery(false, true),
+            paginatedQuery(true, true)
+    };
+
+    @PostConstruct
+    public void registerSortableQueries() {
+        for (SortableQuery query : paginatedQueries) {
+            sortSpecRegistry.register(query);
+        }
+    }
 
     /**
      * Find purchase order by ID
      */
     public Optional<PurchaseOrder> findById(Long id) {
-        String sql = """
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
+        String sql = DETAIL.select("""
             FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
             WHERE po.id = ?
-            """;
+            """);
 
-        List<PurchaseOrder> results = jdbcTemplate.query(sql, rowMapper, id);
+        List<PurchaseOrder> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), id);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -52,16 +85,12 @@ public class PurchaseOrderJdbcRepository {
      * Find purchase order by order number
      */
     public Optional<PurchaseOrder> findByOrderNumber(String orderNumber) {
-        String sql = """
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
+        String sql = DETAIL.select("""
             FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
             WHERE po.order_number = ?
-            """;
+            """);
 
-        List<PurchaseOrder> results = jdbcTemplate.query(sql, rowMapper, orderNumber);
+        List<PurchaseOrder> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), orderNumber);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -69,16 +98,12 @@ public class PurchaseOrderJdbcRepository {
      * Find by purchase request ID
      */
     public Optional<PurchaseOrder> findByPurchaseRequestId(Long purchaseRequestId) {
-        String sql = """
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
+        String sql = DETAIL.select("""
             FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
             WHERE po.purchase_request_id = ?
-            """;
+            """);
 
-        List<PurchaseOrder> results = jdbcTemplate.query(sql, rowMapper, purchaseRequestId);
+        List<PurchaseOrder> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), purchaseRequestId);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -87,37 +112,55 @@ public class PurchaseOrderJdbcRepository {
      */
     public List<PurchaseOrder> findPaginated(int page, int size, String sortBy, String sortDir, 
                                            OrderStatus status, String search) {
-        StringBuilder sql = new StringBuilder("""
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
-            FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
-            WHERE 1=1
-            """);
-
+        boolean bySearch = search != null && !search.trim().isEmpty();
         List<Object> params = new java.util.ArrayList<>();
 
         if (status != null) {
-            sql.append(" AND po.status = ?");
             params.add(status.name());
         }
 
-        if (search != null && !search.trim().isEmpty()) {
-            sql.append(" AND (po.order_number LIKE ? OR po.supplier_name LIKE ? OR pr.title LIKE ?)");
+        if (bySearch) {
             String searchPattern = "%" + search + "%";
             params.add(searchPattern);
             params.add(searchPattern);
             params.add(searchPattern);
         }
 
-        sql.append(" ORDER BY po.").append(sortBy).append(" ").append(sortDir.toUpperCase());
-        sql.append(" LIMIT ? OFFSET ?");
-
         params.add(size);
         params.add(page * size);
 
-        return jdbcTemplate.query(sql.toString(), rowMapper, params.toArray());
+        SortableQuery query = paginatedQueries[(status != null ? 1 : 0) + (bySearch ? 2 : 0)];
+        return jdbcTemplate.query(query.sql(sortBy, sortDir), SUMMARY.rowMapper(), params.toArray());
+    }
+
+    private static SortableQuery paginatedQuery(boolean byStatus, boolean bySearch) {
+        StringBuilder sql = new StringBuilder(SUMMARY.select("""
+            FROM purchase_orders po
+            """));
+        if (bySearch) {
+            sql.append(" LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id");
+        }
+        sql.append(" WHERE 1=1");
+        if (byStatus) {
+            sql.append(" AND po.status = ?");
+        }
+        if (bySearch) {
+            sql.append(" AND (po.order_number LIKE ? OR po.supplier_name LIKE ? OR pr.title LIKE ?)");
+        }
+        sql.append(" ORDER BY {orderBy} LIMIT ? OFFSET ?");
+
+        // Sort keys map to indexed columns only (see db/optimization.sql)
+        return new SortableQuery(
+                "purchaseOrders.paginated" + (byStatus ? ".status" : "") + (bySearch ? ".search" : ""),
+                sql.toString(),
+                Map.of("createdAt", "po.created_at",
+                       "updatedAt", "po.updated_at",
+                       "status", "po.status",
+                       "orderNumber", "po.order_number",
+                       "supplierName", "po.supplier_name",
+                       "totalAmount", "po.total_amount",
+                       "expectedDeliveryDate", "po.expected_delivery_date"),
+                "createdAt", "po.id");
     }
 
     /**
@@ -149,40 +192,47 @@ public class PurchaseOrderJdbcRepository {
         return jdbcTemplate.queryForObject(sql.toString(), Long.class, params.toArray());
     }
 
+    /**
+     * Stream every purchase order, optionally of one status, to the extractor, which reads the open cursor row by row
+     */
+    public void streamForExport(OrderStatus status, ResultSetExtractor<?> extractor) {
+        String sql = DETAIL.select("""
+            FROM purchase_orders po
+            """);
+
+        if (status == null) {
+            streamingJdbcTemplate.query(sql + " ORDER BY po.id", extractor);
+        } else {
+            streamingJdbcTemplate.query(sql + " WHERE po.status = ? ORDER BY po.id", extractor, status.name());
+        }
+    }
+
     /**
      * Find orders by status
      */
     public List<PurchaseOrder> findByStatus(OrderStatus status, int page, int size) {
-        String sql = """
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
+        String sql = SUMMARY.select("""
             FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
             WHERE po.status = ?
             ORDER BY po.created_at DESC
             LIMIT ? OFFSET ?
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, status.name(), size, page * size);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), status.name(), size, page * size);
     }
 
     /**
      * Find orders by created by user
      */
     public List<PurchaseOrder> findByCreatedById(Long createdById, int page, int size) {
-        String sql = """
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
+        String sql = SUMMARY.select("""
             FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
             WHERE po.created_by = ?
             ORDER BY po.created_at DESC
             LIMIT ? OFFSET ?
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, createdById, size, page * size);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), createdById, size, page * size);
     }
 
     /**
@@ -257,35 +307,27 @@ public class PurchaseOrderJdbcRepository {
      * Find overdue orders
      */
     public List<PurchaseOrder> findOverdueOrders() {
-        String sql = """
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
+        String sql = SUMMARY.select("""
             FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
             WHERE po.expected_delivery_date < NOW() 
             AND po.status NOT IN ('DELIVERED', 'COMPLETED', 'CANCELLED')
             ORDER BY po.expected_delivery_date ASC
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper());
     }
 
     /**
      * Find orders by delivery date range
      */
     public List<PurchaseOrder> findByExpectedDeliveryDateBetween(LocalDateTime startDate, LocalDateTime endDate) {
-        String sql = """
-            SELECT po.*, pr.title as request_title, pr.department,
-                   u.first_name, u.last_name, u.email
+        String sql = SUMMARY.select("""
             FROM purchase_orders po
-            LEFT JOIN purchase_requests pr ON po.purchase_request_id = pr.id
-            LEFT JOIN users u ON po.created_by = u.id
             WHERE po.expected_delivery_date BETWEEN ? AND ?
             ORDER BY po.expected_delivery_date ASC
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, 
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), 
             Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
     }
 
@@ -335,32 +377,21 @@ public class PurchaseOrderJdbcRepository {
     }
 
     /**
-     * Generate next order number
+     * Row mapper for the PurchaseOrder summary projection
      */
-    public String generateOrderNumber() {
-        String sql = "SELECT COALESCE(MAX(CAST(SUBSTRING(order_number, 4) AS UNSIGNED)), 0) + 1 FROM purchase_orders WHERE order_number LIKE 'PO-%'";
-        Integer nextNumber = jdbcTemplate.queryForObject(sql, Integer.class);
-        return String.format("PO-%06d", nextNumber);
-    }
+    private static class PurchaseOrderSummaryRowMapper implements RowMapper<PurchaseOrder> {
+
+        private static final EnumLookup<OrderStatus> STATUSES = EnumLookup.of(OrderStatus.class);
 
-    /**
-     * Row mapper for PurchaseOrder
-     */
-    private static class PurchaseOrderRowMapper implements RowMapper<PurchaseOrder> {
         @Override
         public PurchaseOrder mapRow(ResultSet rs, int rowNum) throws SQLException {
             PurchaseOrder order = new PurchaseOrder();
             
             order.setId(rs.getLong("id"));
             order.setOrderNumber(rs.getString("order_number"));
-            order.setStatus(OrderStatus.valueOf(rs.getString("status")));
+            order.setStatus(STATUSES.decode(rs.getString("status")));
             order.setTotalAmount(rs.getBigDecimal("total_amount"));
             order.setSupplierName(rs.getString("supplier_name"));
-            order.setSupplierContact(rs.getString("supplier_contact"));
-            order.setSupplierEmail(rs.getString("supplier_email"));
-            order.setDeliveryAddress(rs.getString("delivery_address"));
-            order.setTermsConditions(rs.getString("terms_conditions"));
-            order.setSpecialInstructions(rs.getString("special_instructions"));
 
             Timestamp expectedDelivery = rs.getTimestamp("expected_delivery_date");
             if (expectedDelivery != null) {
@@ -380,4 +411,20 @@ public class PurchaseOrderJdbcRepository {
             return order;
         }
     }
+
+    /**
+     * Row mapper for the PurchaseOrder detail projection
+     */
+    private static class PurchaseOrderDetailRowMapper extends PurchaseOrderSummaryRowMapper {
+        @Override
+        public PurchaseOrder mapRow(ResultSet rs, int rowNum) throws SQLException {
+            PurchaseOrder order = super.mapRow(rs, rowNum);
+            order.setSupplierContact(rs.getString("supplier_contact"));
+            order.setSupplierEmail(rs.getString("supplier_email"));
+            order.setDeliveryAddress(rs.getString("delivery_address"));
+            order.setTermsConditions(rs.getString("terms_conditions"));
+            order.setSpecialInstructions(rs.getString("special_instructions"));
+            return order;
+        }
+    }
 }
@@ -3,8 +3,13 @@ package com.procureflow.repository.jdbc;
 import com.procureflow.entity.Priority;
 import com.procureflow.entity.RequestStatus;
 import com.procureflow.dto.request.PurchaseRequestDTO;
+import com.procureflow.dto.request.RequestItemDTO;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -16,9 +21,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Optimized JDBC Repository for Purchase Requests
@@ -30,28 +37,70 @@ public class PurchaseRequestJdbcRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private final RowMapper<PurchaseRequestDTO> rowMapper = new PurchaseRequestRowMapper();
+    // Reporting and search queries; served by the read replica when one is configured
+    @Autowired
+    @Qualifier("readOnlyJdbcTemplate")
+    private JdbcTemplate readOnlyJdbcTemplate;
 
-    /**
-     * Get paginated purchase requests with optimized query
-     */
-    public List<PurchaseRequestDTO> findPaginated(int page, int size, String sortBy, String sortDir) {
-        String sql = """
-            SELECT pr.id, pr.title, pr.description, pr.department, pr.priority, 
-                   pr.status, pr.total_amount, pr.justification, pr.expected_delivery_date,
-                   pr.created_at, pr.updated_at,
+    // Exports: rows streamed from the server with no maxRows cap
+    @Autowired
+    @Qualifier("streamingJdbcTemplate")
+    private JdbcTemplate streamingJdbcTemplate;
+
+    @Autowired
+    private SortSpecRegistry sortSpecRegistry;
+
+    // List views leave out the TEXT description and justification columns
+    private static final Projection<PurchaseRequestDTO> SUMMARY = new Projection<>("""
+            pr.id, pr.title, pr.department, pr.priority, pr.status, pr.total_amount,
+                   pr.expected_delivery_date, pr.created_at, pr.updated_at,
                    u.id as requested_by_id, u.first_name, u.last_name, u.email,
-                   au.id as assigned_to_id, au.first_name as assigned_first_name, 
-                   au.last_name as assigned_last_name
+                   au.id as assigned_to_id, au.first_name as assigned_first_name,
+                   au.last_name as assigned_last_name, pr.request_number""",
+            new PurchaseRequestSummaryRowMapper());
+
+    // Same leading columns as SUMMARY so one set of column positions serves both mappers
+    private static final Projection<PurchaseRequestDTO> DETAIL = new Projection<>(
+            SUMMARY.columns() + ", pr.description, pr.justification",
+            new PurchaseRequestDetailRowMapper());
+
+    private static final String REQUEST_NUMBER_PREFIX = "PR-";
+
+    private static final String INSERT_REQUEST_SQL = """
+            INSERT INTO purchase_requests 
+            (title, description, department, priority, status, total_amount, 
+             justification, expected_delivery_date, requested_by, created_at, updated_at, request_number)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Sort keys map to indexed columns only (see db/optimization.sql)
+    private final SortableQuery paginatedQuery = new SortableQuery("purchaseRequests.paginated", SUMMARY.select("""
             FROM purchase_requests pr
             LEFT JOIN users u ON pr.requested_by = u.id
             LEFT JOIN users au ON pr.assigned_to = au.id
-            ORDER BY pr.%s %s
+            ORDER BY {orderBy}
             LIMIT ? OFFSET ?
-            """.formatted(sortBy, sortDir.toUpperCase());
+            """),
+            Map.of("createdAt", "pr.created_at",
+                   "updatedAt", "pr.updated_at",
+                   "priority", "pr.priority",
+                   "status", "pr.status",
+                   "department", "pr.department",
+                   "totalAmount", "pr.total_amount",
+                   "expectedDeliveryDate", "pr.expected_delivery_date"),
+            "createdAt", "pr.id");
+
+    @PostConstruct
+    public void registerSortableQueries() {
+        sortSpecRegistry.register(paginatedQuery);
+    }
 
+    /**
+     * Get paginated purchase requests with optimized query
+     */
+    public List<PurchaseRequestDTO> findPaginated(int page, int size, String sortBy, String sortDir) {
         int offset = page * size;
-        return jdbcTemplate.query(sql, rowMapper, size, offset);
+        return jdbcTemplate.query(paginatedQuery.sql(sortBy, sortDir), SUMMARY.rowMapper(), size, offset);
     }
 
     /**
@@ -61,32 +110,78 @@ public class PurchaseRequestJdbcRepository {
         return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_requests", Long.class);
     }
 
+    /**
+     * Find purchase request by ID, including description and justification
+     */
+    public Optional<PurchaseRequestDTO> findById(Long id) {
+        String sql = DETAIL.select("""
+            FROM purchase_requests pr
+            LEFT JOIN users u ON pr.requested_by = u.id
+            LEFT JOIN users au ON pr.assigned_to = au.id
+            WHERE pr.id = ?
+            """);
+
+        List<PurchaseRequestDTO> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), id);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    /**
+     * Find purchase request by its stored request number (unique index lookup)
+     */
+    public Optional<PurchaseRequestDTO> findByRequestNumber(String requestNumber) {
+        String sql = DETAIL.select("""
+            FROM purchase_requests pr
+            LEFT JOIN users u ON pr.requested_by = u.id
+            LEFT JOIN users au ON pr.assigned_to = au.id
+            WHERE pr.request_number = ?
+            """);
+
+        List<PurchaseRequestDTO> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), requestNumber);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
     /**
      * Search purchase requests with optimized full-text search
+     * Terms that look like a request number ("PR-2026-00") become a prefix range
+     * scan on the request_number index instead of substring matches on every row.
      */
     public List<PurchaseRequestDTO> searchRequests(String searchTerm, int page, int size) {
-        String sql = """
-            SELECT pr.id, pr.title, pr.description, pr.department, pr.priority, 
-                   pr.status, pr.total_amount, pr.justification, pr.expected_delivery_date,
-                   pr.created_at, pr.updated_at,
-                   u.id as requested_by_id, u.first_name, u.last_name, u.email,
-                   au.id as assigned_to_id, au.first_name as assigned_first_name, 
-                   au.last_name as assigned_last_name
+        String term = searchTerm.trim();
+        if (term.regionMatches(true, 0, REQUEST_NUMBER_PREFIX, 0, REQUEST_NUMBER_PREFIX.length())) {
+            return searchByRequestNumberPrefix(term.toUpperCase(java.util.Locale.ROOT), page, size);
+        }
+
+        String sql = SUMMARY.select("""
             FROM purchase_requests pr
             LEFT JOIN users u ON pr.requested_by = u.id
             LEFT JOIN users au ON pr.assigned_to = au.id
             WHERE pr.title LIKE ? OR pr.description LIKE ? OR pr.department LIKE ?
             ORDER BY pr.created_at DESC
             LIMIT ? OFFSET ?
-            """;
+            """);
 
         String searchPattern = "%" + searchTerm + "%";
         int offset = page * size;
         
-        return jdbcTemplate.query(sql, rowMapper, 
+        return readOnlyJdbcTemplate.query(sql, SUMMARY.rowMapper(), 
             searchPattern, searchPattern, searchPattern, size, offset);
     }
 
+    private List<PurchaseRequestDTO> searchByRequestNumberPrefix(String prefix, int page, int size) {
+        String sql = SUMMARY.select("""
+            FROM purchase_requests pr
+            LEFT JOIN users u ON pr.requested_by = u.id
+            LEFT JOIN users au ON pr.assigned_to = au.id
+            WHERE pr.request_number LIKE ?
+            ORDER BY pr.request_number
+            LIMIT ? OFFSET ?
+            """);
+
+        // Escape LIKE wildcards so the user's text is matched literally
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return readOnlyJdbcTemplate.query(sql, SUMMARY.rowMapper(), pattern, size, page * size);
+    }
+
     /**
      * Get requests by multiple criteria with optimized query
      */
@@ -94,18 +189,12 @@ public class PurchaseRequestJdbcRepository {
             RequestStatus status, String department, Priority priority, 
             Long requesterId, int page, int size) {
         
-        StringBuilder sql = new StringBuilder("""
-            SELECT pr.id, pr.title, pr.description, pr.department, pr.priority, 
-                   pr.status, pr.total_amount, pr.justification, pr.expected_delivery_date,
-                   pr.created_at, pr.updated_at,
-                   u.id as requested_by_id, u.first_name, u.last_name, u.email,
-                   au.id as assigned_to_id, au.first_name as assigned_first_name, 
-                   au.last_name as assigned_last_name
+        StringBuilder sql = new StringBuilder(SUMMARY.select("""
             FROM purchase_requests pr
             LEFT JOIN users u ON pr.requested_by = u.id
             LEFT JOIN users au ON pr.assigned_to = au.id
             WHERE 1=1
-            """);
+            """));
 
         List<Object> params = new java.util.ArrayList<>();
 
@@ -130,7 +219,28 @@ public class PurchaseRequestJdbcRepository {
         params.add(size);
         params.add(page * size);
 
-        return jdbcTemplate.query(sql.toString(), rowMapper, params.toArray());
+        return readOnlyJdbcTemplate.query(sql.toString(), SUMMARY.rowMapper(), params.toArray());
+    }
+
+    /**
+     * Stream every purchase request, optionally of one status, to the extractor, which reads the open cursor row by row
+     */
+    public void streamForExport(RequestStatus status, ResultSetExtractor<?> extractor) {
+        String sql = """
+            SELECT pr.id, pr.request_number, pr.title, pr.department, pr.priority, pr.status, pr.total_amount,
+                   pr.expected_delivery_date, pr.created_at, pr.updated_at,
+                   u.email as requested_by_email, au.email as assigned_to_email,
+                   pr.description, pr.justification
+            FROM purchase_requests pr
+            LEFT JOIN users u ON pr.requested_by = u.id
+            LEFT JOIN users au ON pr.assigned_to = au.id
+            """;
+
+        if (status == null) {
+            streamingJdbcTemplate.query(sql + " ORDER BY pr.id", extractor);
+        } else {
+            streamingJdbcTemplate.query(sql + " WHERE pr.status = ? ORDER BY pr.id", extractor, status.name());
+        }
     }
 
     /**
@@ -155,20 +265,14 @@ public class PurchaseRequestJdbcRepository {
             FROM purchase_requests
             """;
 
-        return jdbcTemplate.queryForMap(sql);
+        return readOnlyJdbcTemplate.queryForMap(sql);
     }
 
     /**
      * Get pending approvals with optimized query
      */
     public List<PurchaseRequestDTO> findPendingApprovals(int limit) {
-        String sql = """
-            SELECT pr.id, pr.title, pr.description, pr.department, pr.priority, 
-                   pr.status, pr.total_amount, pr.justification, pr.expected_delivery_date,
-                   pr.created_at, pr.updated_at,
-                   u.id as requested_by_id, u.first_name, u.last_name, u.email,
-                   au.id as assigned_to_id, au.first_name as assigned_first_name, 
-                   au.last_name as assigned_last_name
+        String sql = SUMMARY.select("""
             FROM purchase_requests pr
             LEFT JOIN users u ON pr.requested_by = u.id
             LEFT JOIN users au ON pr.assigned_to = au.id
@@ -182,39 +286,189 @@ public class PurchaseRequestJdbcRepository {
                 END,
                 pr.created_at ASC
             LIMIT ?
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, limit);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), limit);
     }
 
     /**
-     * Create new purchase request
+     * Insert a purchase request and all of its items, returning the created aggregate
+     * The caller assigns the request number (NumberSequenceService).
+     * Item totals and the request total are computed here in one pass, the items go
+     * in as a single JDBC batch (a multi-row INSERT with rewriteBatchedStatements),
+     * and nothing is read back. Callers supply the transaction.
      */
-    public Long createPurchaseRequest(PurchaseRequestDTO requestDTO, Long requestedById) {
-        String sql = """
-            INSERT INTO purchase_requests 
-            (title, description, department, priority, status, total_amount, 
-             justification, expected_delivery_date, requested_by, created_at, updated_at)
-            VALUES (?, ?, ?, ?, 'PENDING', ?, ?, ?, ?, NOW(), NOW())
-            """;
+    public PurchaseRequestDTO createPurchaseRequest(PurchaseRequestDTO requestDTO, Long requestedById) {
+        applyTotals(requestDTO);
+
+        // DATETIME keeps whole seconds; use the same value for the row and the returned DTO
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Timestamp timestamp = Timestamp.valueOf(now);
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
         
         jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, new String[]{"id"});
+            PreparedStatement ps = connection.prepareStatement(INSERT_REQUEST_SQL, new String[]{"id"});
             ps.setString(1, requestDTO.getTitle());
             ps.setString(2, requestDTO.getDescription());
             ps.setString(3, requestDTO.getDepartment());
             ps.setString(4, requestDTO.getPriority().name());
-            ps.setBigDecimal(5, requestDTO.getTotalAmount());
-            ps.setString(6, requestDTO.getJustification());
-            ps.setTimestamp(7, requestDTO.getExpectedDeliveryDate() != null ? 
+            ps.setString(5, RequestStatus.PENDING.name());
+            ps.setBigDecimal(6, requestDTO.getTotalAmount());
+            ps.setString(7, requestDTO.getJustification());
+            ps.setTimestamp(8, requestDTO.getExpectedDeliveryDate() != null ? 
                 Timestamp.valueOf(requestDTO.getExpectedDeliveryDate()) : null);
-            ps.setLong(8, requestedById);
+            ps.setLong(9, requestedById);
+            ps.setTimestamp(10, timestamp);
+            ps.setTimestamp(11, timestamp);
+            ps.setString(12, requestDTO.getRequestNumber());
             return ps;
         }, keyHolder);
 
-        return keyHolder.getKey().longValue();
+        long requestId = keyHolder.getKey().longValue();
+        requestDTO.setId(requestId);
+        requestDTO.setStatus(RequestStatus.PENDING);
+        requestDTO.setRequestedById(requestedById);
+        requestDTO.setCreatedAt(now);
+        requestDTO.setUpdatedAt(now);
+
+        insertItems(List.of(requestDTO));
+        return requestDTO;
+    }
+
+    /**
+     * Insert many purchase requests with their items as two JDBC batches
+     * Each request must carry its request number, requester, status and timestamps (bulk
+     * import keeps historical values); ids and totals are filled in on the DTOs.
+     */
+    public void insertBatch(List<PurchaseRequestDTO> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        for (PurchaseRequestDTO request : requests) {
+            applyTotals(request);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_REQUEST_SQL, new String[]{"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PurchaseRequestDTO request = requests.get(i);
+                    ps.setString(1, request.getTitle());
+                    ps.setString(2, request.getDescription());
+                    ps.setString(3, request.getDepartment());
+                    ps.setString(4, request.getPriority().name());
+                    ps.setString(5, request.getStatus().name());
+                    ps.setBigDecimal(6, request.getTotalAmount());
+                    ps.setString(7, request.getJustification());
+                    ps.setTimestamp(8, request.getExpectedDeliveryDate() != null ?
+                        Timestamp.valueOf(request.getExpectedDeliveryDate()) : null);
+                    ps.setLong(9, request.getRequestedById());
+                    ps.setTimestamp(10, Timestamp.valueOf(request.getCreatedAt()));
+                    ps.setTimestamp(11, Timestamp.valueOf(request.getUpdatedAt()));
+                    ps.setString(12, request.getRequestNumber());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return requests.size();
+                }
+            }, keyHolder);
+
+        List<Long> ids = generatedIds(keyHolder);
+        for (int i = 0; i < ids.size() && i < requests.size(); i++) {
+            requests.get(i).setId(ids.get(i));
+        }
+
+        insertItems(requests);
+    }
+
+    /**
+     * Item totals and the request total in one pass; without items the given total stands
+     */
+    private static void applyTotals(PurchaseRequestDTO request) {
+        if (request.getItems() == null) {
+            request.setItems(List.of());
+        }
+        if (request.getItems().isEmpty()) {
+            return;
+        }
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (RequestItemDTO item : request.getItems()) {
+            if (item.getQuantity() != null && item.getUnitPrice() != null) {
+                item.setTotalPrice(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+            if (item.getTotalPrice() != null) {
+                totalAmount = totalAmount.add(item.getTotalPrice());
+            }
+        }
+        request.setTotalAmount(totalAmount);
+    }
+
+    /**
+     * All items of the given (already inserted) requests as one batch
+     */
+    private void insertItems(List<PurchaseRequestDTO> requests) {
+        List<RequestItemDTO> items = new java.util.ArrayList<>();
+        List<Long> requestIds = new java.util.ArrayList<>();
+        for (PurchaseRequestDTO request : requests) {
+            for (RequestItemDTO item : request.getItems()) {
+                items.add(item);
+                requestIds.add(request.getId());
+            }
+        }
+        if (items.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+            INSERT INTO request_items 
+            (purchase_request_id, item_name, description, quantity, unit_price, total_price,
+             specifications, preferred_supplier)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id"}),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    RequestItemDTO item = items.get(i);
+                    ps.setLong(1, requestIds.get(i));
+                    ps.setString(2, item.getItemName());
+                    ps.setString(3, item.getDescription());
+                    ps.setInt(4, item.getQuantity());
+                    ps.setBigDecimal(5, item.getUnitPrice());
+                    ps.setBigDecimal(6, item.getTotalPrice());
+                    ps.setString(7, item.getSpecifications());
+                    ps.setString(8, item.getPreferredSupplier());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return items.size();
+                }
+            }, keyHolder);
+
+        List<Long> ids = generatedIds(keyHolder);
+        for (int i = 0; i < ids.size() && i < items.size(); i++) {
+            items.get(i).setId(ids.get(i));
+        }
+    }
+
+    // Generated keys come back in insert order
+    private static List<Long> generatedIds(KeyHolder keyHolder) {
+        List<Long> ids = new java.util.ArrayList<>();
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            Object key = keys.values().iterator().next();
+            if (key instanceof Number number) {
+                ids.add(number.longValue());
+            }
+        }
+        return ids;
     }
 
     /**
@@ -238,7 +492,7 @@ public class PurchaseRequestJdbcRepository {
             ORDER BY count DESC
             """;
 
-        return jdbcTemplate.queryForList(sql);
+        return readOnlyJdbcTemplate.queryForList(sql);
     }
 
     /**
@@ -254,65 +508,115 @@ public class PurchaseRequestJdbcRepository {
             LIMIT ?
             """;
 
-        return jdbcTemplate.queryForList(sql, limit);
+        return readOnlyJdbcTemplate.queryForList(sql, limit);
     }
 
     /**
-     * Row mapper for PurchaseRequestDTO
+     * Row mapper for the PurchaseRequestDTO summary projection
+     * Reads by column position (the order of SUMMARY's column list) instead of
+     * resolving labels on every row; enums go through lookup tables
      */
-    private static class PurchaseRequestRowMapper implements RowMapper<PurchaseRequestDTO> {
+    private static class PurchaseRequestSummaryRowMapper implements RowMapper<PurchaseRequestDTO> {
+
+        static final int ID = 1;
+        static final int TITLE = 2;
+        static final int DEPARTMENT = 3;
+        static final int PRIORITY = 4;
+        static final int STATUS = 5;
+        static final int TOTAL_AMOUNT = 6;
+        static final int EXPECTED_DELIVERY_DATE = 7;
+        static final int CREATED_AT = 8;
+        static final int UPDATED_AT = 9;
+        static final int REQUESTED_BY_ID = 10;
+        static final int FIRST_NAME = 11;
+        static final int LAST_NAME = 12;
+        static final int EMAIL = 13;
+        static final int ASSIGNED_TO_ID = 14;
+        static final int ASSIGNED_FIRST_NAME = 15;
+        static final int ASSIGNED_LAST_NAME = 16;
+        static final int REQUEST_NUMBER = 17;
+
+        // Labels at the positions above; checked against the first row of every result set
+        private static final String[] COLUMN_LABELS = {
+                "id", "title", "department", "priority", "status", "total_amount",
+                "expected_delivery_date", "created_at", "updated_at",
+                "requested_by_id", "first_name", "last_name", "email",
+                "assigned_to_id", "assigned_first_name", "assigned_last_name", "request_number"
+        };
+
+        private static final EnumLookup<Priority> PRIORITIES = EnumLookup.of(Priority.class);
+        private static final EnumLookup<RequestStatus> STATUSES = EnumLookup.of(RequestStatus.class);
+
         @Override
         public PurchaseRequestDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
-            PurchaseRequestDTO dto = new PurchaseRequestDTO();
-            
-            dto.setId(rs.getLong("id"));
-            dto.setTitle(rs.getString("title"));
-            dto.setDescription(rs.getString("description"));
-            dto.setDepartment(rs.getString("department"));
-            dto.setPriority(Priority.valueOf(rs.getString("priority")));
-            dto.setStatus(RequestStatus.valueOf(rs.getString("status")));
-            dto.setTotalAmount(rs.getBigDecimal("total_amount"));
-            dto.setJustification(rs.getString("justification"));
-            
-            Timestamp expectedDelivery = rs.getTimestamp("expected_delivery_date");
-            if (expectedDelivery != null) {
-                dto.setExpectedDeliveryDate(expectedDelivery.toLocalDateTime());
-            }
-            
-            Timestamp createdAt = rs.getTimestamp("created_at");
-            if (createdAt != null) {
-                dto.setCreatedAt(createdAt.toLocalDateTime());
+            if (rowNum == 0) {
+                RowDecoding.requireColumnLabels(rs, columnLabels());
             }
+            PurchaseRequestDTO dto = new PurchaseRequestDTO();
             
-            Timestamp updatedAt = rs.getTimestamp("updated_at");
-            if (updatedAt != null) {
-                dto.setUpdatedAt(updatedAt.toLocalDateTime());
-            }
+            dto.setId(rs.getLong(ID));
+            dto.setTitle(rs.getString(TITLE));
+            dto.setDepartment(rs.getString(DEPARTMENT));
+            dto.setPriority(PRIORITIES.decode(rs.getString(PRIORITY)));
+            dto.setStatus(STATUSES.decode(rs.getString(STATUS)));
+            dto.setTotalAmount(rs.getBigDecimal(TOTAL_AMOUNT));
+            dto.setExpectedDeliveryDate(RowDecoding.localDateTime(rs, EXPECTED_DELIVERY_DATE));
+            dto.setCreatedAt(RowDecoding.localDateTime(rs, CREATED_AT));
+            dto.setUpdatedAt(RowDecoding.localDateTime(rs, UPDATED_AT));
 
             // Set requester information
-            dto.setRequestedById(rs.getLong("requested_by_id"));
-            String firstName = rs.getString("first_name");
-            String lastName = rs.getString("last_name");
+            dto.setRequestedById(rs.getLong(REQUESTED_BY_ID));
+            String firstName = rs.getString(FIRST_NAME);
+            String lastName = rs.getString(LAST_NAME);
             if (firstName != null && lastName != null) {
                 dto.setRequestedByName(firstName + " " + lastName);
             }
-            dto.setRequestedByEmail(rs.getString("email"));
+            dto.setRequestedByEmail(rs.getString(EMAIL));
 
             // Set assignee information
-            Long assignedToId = rs.getLong("assigned_to_id");
+            long assignedToId = rs.getLong(ASSIGNED_TO_ID);
             if (!rs.wasNull()) {
                 dto.setAssignedToId(assignedToId);
-                String assignedFirstName = rs.getString("assigned_first_name");
-                String assignedLastName = rs.getString("assigned_last_name");
+                String assignedFirstName = rs.getString(ASSIGNED_FIRST_NAME);
+                String assignedLastName = rs.getString(ASSIGNED_LAST_NAME);
                 if (assignedFirstName != null && assignedLastName != null) {
                     dto.setAssignedToName(assignedFirstName + " " + assignedLastName);
                 }
             }
 
-            // Generate request number
-            dto.setRequestNumber("PR-" + String.format("%06d", dto.getId()));
+            dto.setRequestNumber(rs.getString(REQUEST_NUMBER));
             
             return dto;
         }
+
+        String[] columnLabels() {
+            return COLUMN_LABELS;
+        }
+    }
+
+    /**
+     * Row mapper for the PurchaseRequestDTO detail projection
+     */
+    private static class PurchaseRequestDetailRowMapper extends PurchaseRequestSummaryRowMapper {
+
+        static final int DESCRIPTION = REQUEST_NUMBER + 1;
+        static final int JUSTIFICATION = REQUEST_NUMBER + 2;
+
+        private static final String[] COLUMN_LABELS = Stream.concat(
+                Arrays.stream(PurchaseRequestSummaryRowMapper.COLUMN_LABELS),
+                Stream.of("description", "justification")).toArray(String[]::new);
+
+        @Override
+        public PurchaseRequestDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+            PurchaseRequestDTO dto = super.mapRow(rs, rowNum);
+            dto.setDescription(rs.getString(DESCRIPTION));
+            dto.setJustification(rs.getString(JUSTIFICATION));
+            return dto;
+        }
+
+        @Override
+        String[] columnLabels() {
+            return COLUMN_LABELS;
+        }
     }
 }
@@ -0,0 +1,61 @@
+package com.procureflow.repository.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Row Decoding
+ * Allocation-light helpers for hot row mappers: temporal columns straight to
+ * java.time, zero-padded document numbers without String.format, and a
+ * one-time check that positional mappers read the columns they expect
+ */
+public final class RowDecoding {
+
+    private RowDecoding() {
+    }
+
+    /**
+     * DATETIME/TIMESTAMP column as LocalDateTime via JDBC 4.2, skipping the Timestamp round trip
+     */
+    public static LocalDateTime localDateTime(ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, LocalDateTime.class);
+    }
+
+    /**
+     * prefix + value left-padded with zeros to width digits, e.g. ("PR-", 42, 6) -> PR-000042
+     */
+    public static String zeroPadded(String prefix, long value, int width) {
+        String digits = Long.toString(value);
+        int padding = width - digits.length();
+        if (padding <= 0) {
+            return prefix.concat(digits);
+        }
+        StringBuilder number = new StringBuilder(prefix.length() + width).append(prefix);
+        for (int i = 0; i < padding; i++) {
+            number.append('0');
+        }
+        return number.append(digits).toString();
+    }
+
+    /**
+     * Fail fast when the result set's columns, in order, are not the given labels.
+     * Positional mappers call this on the first row only, so a projection edited
+     * out of step with its index constants breaks loudly instead of mixing up fields.
+     */
+    public static void requireColumnLabels(ResultSet rs, String... labels) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        if (meta.getColumnCount() < labels.length) {
+            throw new IllegalStateException("Expected at least " + labels.length + " columns but the query returned "
+                    + meta.getColumnCount());
+        }
+        for (int i = 0; i < labels.length; i++) {
+            String actual = meta.getColumnLabel(i + 1);
+            // H2 reports labels upper-case
+            if (!labels[i].equalsIgnoreCase(actual)) {
+                throw new IllegalStateException("Column " + (i + 1) + " is " + actual + ", expected " + labels[i]);
+            }
+        }
+    }
+}
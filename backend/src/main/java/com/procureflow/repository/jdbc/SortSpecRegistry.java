@@ -0,0 +1,71 @@
+package com.procureflow.repository.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sort Spec Registry
+ * Knows every dynamically sorted query and reports how its precompiled variants
+ * are used, next to the server's prepared statement counters so statement-cache
+ * reuse can be checked after changing the whitelist.
+ */
+@Component
+public class SortSpecRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SortSpecRegistry.class);
+
+    private static final String STATEMENT_STATUS_SQL = """
+            SHOW GLOBAL STATUS WHERE Variable_name IN
+                ('Com_stmt_prepare', 'Com_stmt_execute', 'Com_stmt_close', 'Prepared_stmt_count')
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, SortableQuery> queries = new ConcurrentHashMap<>();
+
+    public SortableQuery register(SortableQuery query) {
+        queries.put(query.getName(), query);
+        return query;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Object> perQuery = new LinkedHashMap<>();
+        queries.values().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .forEach(query -> perQuery.put(query.getName(), query.getStatistics()));
+        stats.put("queries", perQuery);
+
+        Map<String, Long> server = serverStatementStatus();
+        if (!server.isEmpty()) {
+            long prepared = server.getOrDefault("Com_stmt_prepare", 0L);
+            long executed = server.getOrDefault("Com_stmt_execute", 0L);
+            stats.put("server", server);
+            // Executions that reused an already prepared statement
+            stats.put("statementCacheHitRate", executed == 0 ? 1.0 : Math.max(0.0, 1.0 - (double) prepared / executed));
+        }
+        return stats;
+    }
+
+    private Map<String, Long> serverStatementStatus() {
+        Map<String, Long> status = new LinkedHashMap<>();
+        try {
+            jdbcTemplate.query(STATEMENT_STATUS_SQL, rs -> {
+                status.put(rs.getString(1), rs.getLong(2));
+            });
+        } catch (DataAccessException e) {
+            // Not MySQL (e.g. H2 in tests) or missing privilege; variant counters still apply
+            logger.debug("Server statement counters unavailable: {}", e.getMessage());
+        }
+        return status;
+    }
+}
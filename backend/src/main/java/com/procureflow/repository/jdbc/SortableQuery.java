@@ -0,0 +1,98 @@
+package com.procureflow.repository.jdbc;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sortable Query
+ * A query whose ORDER BY is picked from a whitelist of sort keys. Every allowed
+ * key and direction is rendered to its final SQL once, up front, so request input
+ * never reaches the statement text and the driver's statement cache only ever
+ * sees this fixed set of variants. Unknown keys or directions are rejected.
+ */
+public final class SortableQuery {
+
+    private static final String ORDER_BY = "{orderBy}";
+
+    private final String name;
+    private final String defaultKey;
+    private final Map<String, String> ascending = new LinkedHashMap<>();
+    private final Map<String, String> descending = new LinkedHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param template   SQL with an {orderBy} placeholder where the ORDER BY list goes
+     * @param columns    sort key to the (indexed) column expression it orders by
+     * @param tieBreaker unique column appended to every variant so pages are stable
+     */
+    public SortableQuery(String name, String template, Map<String, String> columns,
+                         String defaultKey, String tieBreaker) {
+        if (!template.contains(ORDER_BY)) {
+            throw new IllegalArgumentException("Query template " + name + " has no " + ORDER_BY + " placeholder");
+        }
+        this.name = name;
+        this.defaultKey = normalize(defaultKey);
+        columns.forEach((key, column) -> {
+            ascending.put(normalize(key), template.replace(ORDER_BY, column + " ASC, " + tieBreaker + " ASC"));
+            descending.put(normalize(key), template.replace(ORDER_BY, column + " DESC, " + tieBreaker + " DESC"));
+        });
+        if (!ascending.containsKey(this.defaultKey)) {
+            throw new IllegalArgumentException("Default sort key " + defaultKey + " is not allowed for " + name);
+        }
+    }
+
+    /**
+     * Precompiled SQL for a sort key and direction; blank values fall back to the default key, descending
+     */
+    public String sql(String sortBy, String sortDir) {
+        String key = sortBy == null || sortBy.isBlank() ? defaultKey : normalize(sortBy);
+        String direction = sortDir == null || sortDir.isBlank() ? "desc" : sortDir.trim().toLowerCase(Locale.ROOT);
+
+        String sql = switch (direction) {
+            case "asc" -> ascending.get(key);
+            case "desc" -> descending.get(key);
+            default -> null;
+        };
+        if (sql == null) {
+            rejected.increment();
+            throw new InvalidSortException(name, sortBy, sortDir);
+        }
+        hits.increment();
+        return sql;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getStatistics() {
+        long served = hits.sum();
+        long refused = rejected.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sortKeys", Collections.unmodifiableSet(ascending.keySet()));
+        stats.put("variants", ascending.size() + descending.size());
+        stats.put("served", served);
+        stats.put("rejected", refused);
+        stats.put("hitRate", served + refused == 0 ? 1.0 : (double) served / (served + refused));
+        return stats;
+    }
+
+    // createdAt, created_at and CREATED_AT all name the same key
+    private static String normalize(String key) {
+        return key.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sort key or direction outside the whitelist
+     */
+    public static class InvalidSortException extends RuntimeException {
+        public InvalidSortException(String query, String sortBy, String sortDir) {
+            super("Unsupported sort '" + sortBy + " " + sortDir + "' for " + query);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.procureflow.repository.jdbc;
 
 import com.procureflow.entity.User;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -26,22 +28,54 @@ public class UserJdbcRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private final RowMapper<User> rowMapper = new UserRowMapper();
+    // Reporting and search queries; served by the read replica when one is configured
+    @Autowired
+    @Qualifier("readOnlyJdbcTemplate")
+    private JdbcTemplate readOnlyJdbcTemplate;
+
+    @Autowired
+    private SortSpecRegistry sortSpecRegistry;
+
+    // List views never carry the password hash or contact details; roles are loaded separately
+    private static final Projection<User> SUMMARY = new Projection<>(
+            "u.id, u.username, u.email, u.first_name, u.last_name, u.department, u.position, u.is_active, u.created_at",
+            new UserSummaryRowMapper());
+
+    private static final Projection<User> DETAIL = new Projection<>(
+            "u.id, u.username, u.email, u.password, u.first_name, u.last_name, u.department, u.position, u.phone, "
+                    + "u.is_active, u.created_at, u.updated_at",
+            new UserDetailRowMapper());
+
+    // Sort keys map to indexed columns only (see db/optimization.sql)
+    private final SortableQuery activeUsersQuery = new SortableQuery("users.active", SUMMARY.select("""
+            FROM users u
+            WHERE u.is_active = true
+            ORDER BY {orderBy}
+            LIMIT ? OFFSET ?
+            """),
+            Map.of("createdAt", "u.created_at",
+                   "username", "u.username",
+                   "email", "u.email",
+                   "department", "u.department",
+                   "firstName", "u.first_name",
+                   "lastName", "u.last_name"),
+            "createdAt", "u.id");
+
+    @PostConstruct
+    public void registerSortableQueries() {
+        sortSpecRegistry.register(activeUsersQuery);
+    }
 
     /**
      * Find user by ID
      */
     public Optional<User> findById(Long id) {
-        String sql = """
-            SELECT u.*, GROUP_CONCAT(r.name) as roles
+        String sql = DETAIL.select("""
             FROM users u
-            LEFT JOIN user_roles ur ON u.id = ur.user_id
-            LEFT JOIN roles r ON ur.role_id = r.id
             WHERE u.id = ?
-            GROUP BY u.id
-            """;
+            """);
 
-        List<User> results = jdbcTemplate.query(sql, rowMapper, id);
+        List<User> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), id);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -49,16 +83,12 @@ public class UserJdbcRepository {
      * Find user by username
      */
     public Optional<User> findByUsername(String username) {
-        String sql = """
-            SELECT u.*, GROUP_CONCAT(r.name) as roles
+        String sql = DETAIL.select("""
             FROM users u
-            LEFT JOIN user_roles ur ON u.id = ur.user_id
-            LEFT JOIN roles r ON ur.role_id = r.id
             WHERE u.username = ?
-            GROUP BY u.id
-            """;
+            """);
 
-        List<User> results = jdbcTemplate.query(sql, rowMapper, username);
+        List<User> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), username);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -66,16 +96,12 @@ public class UserJdbcRepository {
      * Find user by email
      */
     public Optional<User> findByEmail(String email) {
-        String sql = """
-            SELECT u.*, GROUP_CONCAT(r.name) as roles
+        String sql = DETAIL.select("""
             FROM users u
-            LEFT JOIN user_roles ur ON u.id = ur.user_id
-            LEFT JOIN roles r ON ur.role_id = r.id
             WHERE u.email = ?
-            GROUP BY u.id
-            """;
+            """);
 
-        List<User> results = jdbcTemplate.query(sql, rowMapper, email);
+        List<User> results = jdbcTemplate.query(sql, DETAIL.rowMapper(), email);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -101,57 +127,38 @@ public class UserJdbcRepository {
      * Find all active users with pagination
      */
     public List<User> findByIsActiveTrue(int page, int size, String sortBy, String sortDir) {
-        String sql = """
-            SELECT u.*, GROUP_CONCAT(r.name) as roles
-            FROM users u
-            LEFT JOIN user_roles ur ON u.id = ur.user_id
-            LEFT JOIN roles r ON ur.role_id = r.id
-            WHERE u.is_active = true
-            GROUP BY u.id
-            ORDER BY u.%s %s
-            LIMIT ? OFFSET ?
-            """.formatted(sortBy, sortDir.toUpperCase());
-
-        return jdbcTemplate.query(sql, rowMapper, size, page * size);
+        return jdbcTemplate.query(activeUsersQuery.sql(sortBy, sortDir), SUMMARY.rowMapper(), size, page * size);
     }
 
     /**
      * Find users by department
      */
     public List<User> findByDepartment(String department) {
-        String sql = """
-            SELECT u.*, GROUP_CONCAT(r.name) as roles
+        String sql = SUMMARY.select("""
             FROM users u
-            LEFT JOIN user_roles ur ON u.id = ur.user_id
-            LEFT JOIN roles r ON ur.role_id = r.id
             WHERE u.department = ? AND u.is_active = true
-            GROUP BY u.id
             ORDER BY u.first_name, u.last_name
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, department);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), department);
     }
 
     /**
      * Search active users
      */
     public List<User> searchActiveUsers(String search, int page, int size) {
-        String sql = """
-            SELECT u.*, GROUP_CONCAT(r.name) as roles
+        String sql = SUMMARY.select("""
             FROM users u
-            LEFT JOIN user_roles ur ON u.id = ur.user_id
-            LEFT JOIN roles r ON ur.role_id = r.id
             WHERE u.is_active = true AND (
                 u.first_name LIKE ? OR u.last_name LIKE ? OR 
                 u.email LIKE ? OR u.department LIKE ? OR u.username LIKE ?
             )
-            GROUP BY u.id
             ORDER BY u.first_name, u.last_name
             LIMIT ? OFFSET ?
-            """;
+            """);
 
         String searchPattern = "%" + search + "%";
-        return jdbcTemplate.query(sql, rowMapper, 
+        return readOnlyJdbcTemplate.query(sql, SUMMARY.rowMapper(), 
             searchPattern, searchPattern, searchPattern, searchPattern, searchPattern,
             size, page * size);
     }
@@ -160,17 +167,15 @@ public class UserJdbcRepository {
      * Find users by role name
      */
     public List<User> findByRoleNameAndIsActiveTrue(String roleName) {
-        String sql = """
-            SELECT u.*, GROUP_CONCAT(r.name) as roles
+        String sql = SUMMARY.select("""
             FROM users u
             JOIN user_roles ur ON u.id = ur.user_id
             JOIN roles r ON ur.role_id = r.id
             WHERE r.name = ? AND u.is_active = true
-            GROUP BY u.id
             ORDER BY u.first_name, u.last_name
-            """;
+            """);
 
-        return jdbcTemplate.query(sql, rowMapper, roleName);
+        return jdbcTemplate.query(sql, SUMMARY.rowMapper(), roleName);
     }
 
     /**
@@ -249,6 +254,14 @@ public class UserJdbcRepository {
         jdbcTemplate.update(sql, newPassword, userId);
     }
 
+    /**
+     * Replace the stored hash of an unchanged password, leaving updated_at alone so issued tokens stay valid
+     */
+    public void rehashPassword(Long userId, String newHash) {
+        String sql = "UPDATE users SET password = ? WHERE id = ?";
+        jdbcTemplate.update(sql, newHash, userId);
+    }
+
     /**
      * Deactivate user
      */
@@ -257,6 +270,15 @@ public class UserJdbcRepository {
         jdbcTemplate.update(sql, userId);
     }
 
+    /**
+     * Get the fields token revocation depends on: active flag and last change time
+     */
+    public Optional<Map<String, Object>> findAuthStatus(Long userId) {
+        String sql = "SELECT is_active, updated_at FROM users WHERE id = ?";
+        List<Map<String, Object>> results = jdbcTemplate.queryForList(sql, userId);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
     /**
      * Activate user
      */
@@ -280,7 +302,7 @@ public class UserJdbcRepository {
             FROM users
             """;
 
-        return jdbcTemplate.queryForMap(sql);
+        return readOnlyJdbcTemplate.queryForMap(sql);
     }
 
     /**
@@ -297,7 +319,7 @@ public class UserJdbcRepository {
             ORDER BY total_count DESC
             """;
 
-        return jdbcTemplate.queryForList(sql);
+        return readOnlyJdbcTemplate.queryForList(sql);
     }
 
     /**
@@ -321,7 +343,7 @@ public class UserJdbcRepository {
             """;
 
         String searchPattern = "%" + search + "%";
-        return jdbcTemplate.queryForObject(sql, Long.class,
+        return readOnlyJdbcTemplate.queryForObject(sql, Long.class,
             searchPattern, searchPattern, searchPattern, searchPattern, searchPattern);
     }
 
@@ -331,6 +353,8 @@ public class UserJdbcRepository {
     public void addRoleToUser(Long userId, Integer roleId) {
         String sql = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
         jdbcTemplate.update(sql, userId, roleId);
+        // Role changes count as a user change so tokens carrying the old roles are revoked
+        jdbcTemplate.update("UPDATE users SET updated_at = NOW() WHERE id = ?", userId);
     }
 
     /**
@@ -339,6 +363,7 @@ public class UserJdbcRepository {
     public void removeRoleFromUser(Long userId, Integer roleId) {
         String sql = "DELETE FROM user_roles WHERE user_id = ? AND role_id = ?";
         jdbcTemplate.update(sql, userId, roleId);
+        jdbcTemplate.update("UPDATE users SET updated_at = NOW() WHERE id = ?", userId);
     }
 
     /**
@@ -366,9 +391,9 @@ public class UserJdbcRepository {
     }
 
     /**
-     * Row mapper for User
+     * Row mapper for the User summary projection
      */
-    private static class UserRowMapper implements RowMapper<User> {
+    private static class UserSummaryRowMapper implements RowMapper<User> {
         @Override
         public User mapRow(ResultSet rs, int rowNum) throws SQLException {
             User user = new User();
@@ -376,12 +401,10 @@ public class UserJdbcRepository {
             user.setId(rs.getLong("id"));
             user.setUsername(rs.getString("username"));
             user.setEmail(rs.getString("email"));
-            user.setPassword(rs.getString("password"));
             user.setFirstName(rs.getString("first_name"));
             user.setLastName(rs.getString("last_name"));
             user.setDepartment(rs.getString("department"));
             user.setPosition(rs.getString("position"));
-            user.setPhone(rs.getString("phone"));
             user.setIsActive(rs.getBoolean("is_active"));
 
             Timestamp createdAt = rs.getTimestamp("created_at");
@@ -389,6 +412,20 @@ public class UserJdbcRepository {
                 user.setCreatedAt(createdAt.toLocalDateTime());
             }
 
+            return user;
+        }
+    }
+
+    /**
+     * Row mapper for the User detail projection
+     */
+    private static class UserDetailRowMapper extends UserSummaryRowMapper {
+        @Override
+        public User mapRow(ResultSet rs, int rowNum) throws SQLException {
+            User user = super.mapRow(rs, rowNum);
+            user.setPassword(rs.getString("password"));
+            user.setPhone(rs.getString("phone"));
+
             Timestamp updatedAt = rs.getTimestamp("updated_at");
             if (updatedAt != null) {
                 user.setUpdatedAt(updatedAt.toLocalDateTime());
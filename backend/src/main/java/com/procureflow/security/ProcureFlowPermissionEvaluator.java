@@ -0,0 +1,64 @@
+package com.procureflow.security;
+
+import com.procureflow.entity.Approval;
+import com.procureflow.entity.PurchaseOrder;
+import com.procureflow.security.services.UserPrincipal;
+import com.procureflow.service.impl.ApprovalJdbcService;
+import com.procureflow.service.impl.PurchaseOrderJdbcService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.Locale;
+
+/**
+ * ProcureFlow Permission Evaluator
+ * Backs hasPermission() in @PreAuthorize expressions, e.g.
+ * hasPermission(#id, 'PurchaseOrder', 'MODIFY') or hasPermission(#approvalId, 'Approval', 'APPROVE').
+ * The underlying service checks answer from the permission decision cache.
+ */
+@Component
+public class ProcureFlowPermissionEvaluator implements PermissionEvaluator {
+
+    @Autowired
+    private ApprovalJdbcService approvalService;
+
+    @Autowired
+    private PurchaseOrderJdbcService purchaseOrderService;
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (targetDomainObject instanceof PurchaseOrder order) {
+            return hasPermission(authentication, order.getId(), PurchaseOrderJdbcService.RESOURCE_TYPE, permission);
+        }
+        if (targetDomainObject instanceof Approval approval) {
+            return hasPermission(authentication, approval.getId(), ApprovalJdbcService.RESOURCE_TYPE, permission);
+        }
+        // Unknown target types are denied rather than guessed at
+        return false;
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        Long userId = currentUserId(authentication);
+        if (userId == null || !(targetId instanceof Number id)) {
+            return false;
+        }
+
+        String action = String.valueOf(permission).toUpperCase(Locale.ROOT);
+        if (PurchaseOrderJdbcService.RESOURCE_TYPE.equals(targetType) && ("MODIFY".equals(action) || "WRITE".equals(action))) {
+            return purchaseOrderService.canUserModifyOrder(id.longValue(), userId);
+        }
+        if (ApprovalJdbcService.RESOURCE_TYPE.equals(targetType) && "APPROVE".equals(action)) {
+            return approvalService.isUserAuthorizedToApprove(id.longValue(), userId);
+        }
+        return false;
+    }
+
+    private static Long currentUserId(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId() : null;
+    }
+}
@@ -0,0 +1,176 @@
+package com.procureflow.security.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procureflow.security.services.LoginRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Auth Rate Limit Filter
+ * Throttles sign-in and sign-up attempts per client IP and per username before
+ * they reach password hashing, answering 429 with Retry-After when over the limit
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/api/auth/signin", "/api/auth/signup");
+
+    // Login payloads are tiny; anything bigger is not inspected for a username
+    private static final int MAX_INSPECTED_BODY = 8192;
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY + 1);
+        HttpServletRequest replayable = new CachedBodyRequest(request, body);
+
+        // Behind a load balancer this is the client address from X-Forwarded-For, resolved by
+        // the container only when the peer is a trusted proxy (server.tomcat.remoteip.internal-proxies)
+        long retryAfter = loginRateLimiter.tryAcquire(request.getRemoteAddr(),
+                body.length <= MAX_INSPECTED_BODY ? extractUsername(body) : null);
+        if (retryAfter > 0) {
+            logger.warn("Throttled {} from {}", request.getServletPath(), request.getRemoteAddr());
+
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+            Map<String, Object> error = new HashMap<>();
+            error.put("status", 429);
+            error.put("error", "Too Many Requests");
+            error.put("message", "Too many authentication attempts, retry in " + retryAfter + " seconds");
+            error.put("path", request.getServletPath());
+            mapper.writeValue(response.getOutputStream(), error);
+            return;
+        }
+
+        filterChain.doFilter(replayable, response);
+    }
+
+    private static String extractUsername(byte[] body) {
+        try {
+            JsonNode json = mapper.readTree(body);
+            if (json == null) {
+                return null;
+            }
+            JsonNode username = json.hasNonNull("usernameOrEmail") ? json.get("usernameOrEmail") : json.get("username");
+            return username != null && username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Request whose body was already read here, replayed to the controller
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final HttpServletRequest original;
+        private final byte[] prefix;
+        private ServletInputStream stream;
+        private boolean async;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] prefix) {
+            super(request);
+            this.original = request;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream != null) {
+                return stream;
+            }
+            ServletInputStream remainder = original.getInputStream();
+            ByteArrayInputStream head = new ByteArrayInputStream(prefix);
+            stream = new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    int next = head.read();
+                    return next != -1 ? next : remainder.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = head.read(buffer, offset, length);
+                    return read != -1 ? read : remainder.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return head.available() == 0 && remainder.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    // Blocking reads are always ready; async readers see the container's state once the prefix is drained
+                    return head.available() > 0 || !async || remainder.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    async = true;
+                    remainder.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            listener.onDataAvailable();
+                        }
+
+                        @Override
+                        public void onAllDataRead() throws IOException {
+                            // The container only knows about the remainder; announce the buffered prefix first
+                            if (head.available() > 0) {
+                                listener.onDataAvailable();
+                            }
+                            listener.onAllDataRead();
+                        }
+
+                        @Override
+                        public void onError(Throwable error) {
+                            listener.onError(error);
+                        }
+                    });
+                }
+            };
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+}
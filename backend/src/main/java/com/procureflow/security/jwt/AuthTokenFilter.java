@@ -1,6 +1,6 @@
 package com.procureflow.security.jwt;
 
-import com.procureflow.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,22 +24,33 @@ import java.io.IOException;
 public class AuthTokenFilter extends OncePerRequestFilter {
     
     @Autowired
-    private JwtUtils jwtUtils;
+    private JwtVerifier jwtVerifier;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private JwtPrincipalResolver jwtPrincipalResolver;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    /** Only endpoint that accepts a stream-scoped token in the query string */
+    static final String STREAM_PATH = "/api/realtime/stream";
+    static final String STREAM_TOKEN_PARAM = "access_token";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            boolean streamToken = jwt == null && STREAM_PATH.equals(request.getServletPath());
+            if (streamToken) {
+                jwt = request.getParameter(STREAM_TOKEN_PARAM);
+            }
+            Claims claims = StringUtils.hasText(jwt) ? jwtVerifier.verify(jwt) : null;
+            // Stream tokens open the SSE stream and nothing else; they are never valid as bearer tokens
+            if (claims != null && streamToken != JwtPrincipalResolver.isStreamScoped(claims)) {
+                claims = null;
+            }
+            UserDetails userDetails = claims != null ? jwtPrincipalResolver.resolve(claims) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,89 @@
+package com.procureflow.security.jwt;
+
+import com.procureflow.security.services.RevokedTokenStore;
+import com.procureflow.security.services.TokenRevocationService;
+import com.procureflow.security.services.UserDetailsServiceImpl;
+import com.procureflow.security.services.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * JWT Principal Resolver
+ * Turns verified claims into the authenticated user. In self-contained mode the
+ * principal is rebuilt from signed claims and only checked against the revocation
+ * cache; tokens without the user claims fall back to a user lookup.
+ */
+@Component
+public class JwtPrincipalResolver {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_FIRST_NAME = "firstName";
+    public static final String CLAIM_LAST_NAME = "lastName";
+    public static final String CLAIM_DEPARTMENT = "department";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_SCOPE = "scope";
+
+    /** Scope of tokens that may only open the SSE stream */
+    public static final String SCOPE_STREAM = "stream";
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RevokedTokenStore revokedTokenStore;
+
+    @Value("${procureflow.app.jwtSelfContained:true}")
+    private boolean selfContained;
+
+    /**
+     * Whether the token may only open the SSE stream
+     */
+    public static boolean isStreamScoped(Claims claims) {
+        return SCOPE_STREAM.equals(claims.get(CLAIM_SCOPE, String.class));
+    }
+
+    /**
+     * Resolve the user for verified claims, or null when the token has been revoked
+     */
+    public UserDetails resolve(Claims claims) {
+        if (claims.getId() != null && revokedTokenStore.isRevoked(claims.getId())) {
+            return null;
+        }
+
+        if (!selfContained || claims.get(CLAIM_USER_ID) == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        Long userId = ((Number) claims.get(CLAIM_USER_ID)).longValue();
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+        if (!tokenRevocationService.isTokenValid(userId, issuedAt)) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = claims.get(CLAIM_ROLES) instanceof List<?> roles
+                ? roles.stream().map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role))).toList()
+                : List.of();
+
+        return new UserPrincipal(
+                userId,
+                claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class),
+                null,
+                claims.get(CLAIM_FIRST_NAME, String.class),
+                claims.get(CLAIM_LAST_NAME, String.class),
+                claims.get(CLAIM_DEPARTMENT, String.class),
+                authorities
+        );
+    }
+}
@@ -1,16 +1,18 @@
 package com.procureflow.security.jwt;
 
 import com.procureflow.security.services.UserPrincipal;
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * JWT Utilities
@@ -19,25 +21,61 @@ import java.util.Date;
 @Component
 public class JwtUtils {
 
-    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+    @Autowired
+    private JwtVerifier jwtVerifier;
 
-    @Value("${procureflow.app.jwtSecret:procureFlowSecretKey}")
-    private String jwtSecret;
-
-    @Value("${procureflow.app.jwtExpirationMs:86400000}")
+    @Value("${procureflow.app.jwtExpirationMs:900000}")
     private int jwtExpirationMs;
 
+    @Value("${procureflow.app.streamTokenExpirationMs:60000}")
+    private int streamTokenExpirationMs;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return jwtVerifier.getSigningKey();
     }
 
     public String generateJwtToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return generateAccessToken((UserPrincipal) authentication.getPrincipal());
+    }
+
+    /**
+     * Short-lived access token with a unique id (jti) so it can be revoked individually
+     */
+    public String generateAccessToken(UserPrincipal userPrincipal) {
+        return buildUserToken(userPrincipal, null, jwtExpirationMs);
+    }
+
+    /**
+     * Very short-lived token for opening an SSE stream; browsers' EventSource cannot
+     * send an Authorization header, so it travels as a query parameter and is only
+     * accepted on the stream endpoint
+     */
+    public String generateStreamToken(UserPrincipal userPrincipal) {
+        return buildUserToken(userPrincipal, JwtPrincipalResolver.SCOPE_STREAM, streamTokenExpirationMs);
+    }
 
+    public int getStreamTokenExpirationMs() {
+        return streamTokenExpirationMs;
+    }
+
+    private String buildUserToken(UserPrincipal userPrincipal, String scope, int expirationMs) {
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        // User claims let requests authenticate without a user lookup
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userPrincipal.getUsername())
+                .claim(JwtPrincipalResolver.CLAIM_USER_ID, userPrincipal.getId())
+                .claim(JwtPrincipalResolver.CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(JwtPrincipalResolver.CLAIM_FIRST_NAME, userPrincipal.getFirstName())
+                .claim(JwtPrincipalResolver.CLAIM_LAST_NAME, userPrincipal.getLastName())
+                .claim(JwtPrincipalResolver.CLAIM_DEPARTMENT, userPrincipal.getDepartment())
+                .claim(JwtPrincipalResolver.CLAIM_ROLES, roles)
+                .claim(JwtPrincipalResolver.CLAIM_SCOPE, scope)
                 .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .expiration(new Date((new Date()).getTime() + expirationMs))
                 .signWith(getSigningKey(), Jwts.SIG.HS256)
                 .compact();
     }
@@ -51,33 +89,16 @@ public class JwtUtils {
                 .compact();
     }
 
+    public int getJwtExpirationMs() {
+        return jwtExpirationMs;
+    }
+
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        Claims claims = jwtVerifier.verify(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
-        } catch (SecurityException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
-        } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
-        }
-        return false;
+        return jwtVerifier.verify(authToken) != null;
     }
 }
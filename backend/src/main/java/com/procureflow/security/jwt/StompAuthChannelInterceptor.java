@@ -0,0 +1,82 @@
+package com.procureflow.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * STOMP Auth Channel Interceptor
+ * Validates the JWT once at STOMP CONNECT and binds the principal to the session,
+ * so user destinations resolve to that user's sessions only
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthChannelInterceptor.class);
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String TOKEN_HEADER = "token";
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private JwtPrincipalResolver jwtPrincipalResolver;
+
+    @Value("${procureflow.websocket.require-authentication:true}")
+    private boolean requireAuthentication;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT == accessor.getCommand()) {
+            String jwt = parseJwt(accessor);
+            Claims claims = jwt != null ? jwtVerifier.verify(jwt) : null;
+            if (claims != null && JwtPrincipalResolver.isStreamScoped(claims)) {
+                claims = null;
+            }
+            UserDetails userDetails = claims != null ? jwtPrincipalResolver.resolve(claims) : null;
+            if (userDetails != null) {
+                accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+            } else if (requireAuthentication) {
+                logger.warn("Rejected STOMP CONNECT for session {}: missing or invalid token", accessor.getSessionId());
+                throw new MessagingException(message, "Authentication required");
+            }
+        } else if (StompCommand.SUBSCRIBE == accessor.getCommand()) {
+            // Personal queues are only reachable through /user/queue/..., which resolves to the caller's own sessions
+            String destination = accessor.getDestination();
+            if (destination != null && destination.startsWith("/queue/")) {
+                throw new MessagingException(message, "Subscribe to /user" + destination + " instead");
+            }
+        }
+
+        return message;
+    }
+
+    private String parseJwt(StompHeaderAccessor accessor) {
+        String headerAuth = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+
+        String token = accessor.getFirstNativeHeader(TOKEN_HEADER);
+        return StringUtils.hasText(token) ? token : null;
+    }
+}
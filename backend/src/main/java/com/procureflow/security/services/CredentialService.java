@@ -0,0 +1,212 @@
+package com.procureflow.security.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Credential Service
+ * Runs password hashing on a dedicated bounded executor so login storms queue
+ * here instead of pinning Tomcat threads. When the queue is full, new work is
+ * rejected up front (admission control) and callers answer 503 with Retry-After.
+ * Only hashing runs on that pool: follow-up work such as issuing tokens goes to
+ * a separate completion executor, and tasks that waited past the timeout are
+ * dropped instead of hashing for a caller that already gave up.
+ */
+@Service
+public class CredentialService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${procureflow.app.passwordHashThreads:0}")
+    private int hashThreads;
+
+    @Value("${procureflow.app.passwordHashQueueCapacity:200}")
+    private int queueCapacity;
+
+    @Value("${procureflow.app.passwordHashTimeoutMs:10000}")
+    private long hashTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private ThreadPoolExecutor completionExecutor;
+    private Timer queueWaitTimer;
+    private Counter rejectedCounter;
+    private Counter expiredCounter;
+
+    // Verified against when the login name is unknown, so a miss costs as much as a wrong password
+    private String unknownUserHash;
+
+    @PostConstruct
+    public void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "credential-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // Unbounded queue: its inflow is already bounded by admission to the hashing queue
+        AtomicInteger completionCount = new AtomicInteger();
+        completionExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "credential-complete-" + completionCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        unknownUserHash = passwordEncoder.encode("unknown-user-" + System.nanoTime());
+
+        Gauge.builder("procureflow.credentials.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("procureflow.credentials.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(meterRegistry);
+        queueWaitTimer = Timer.builder("procureflow.credentials.queue.wait")
+                .description("Time a hashing task waited for a thread")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("procureflow.credentials.rejected")
+                .description("Hashing tasks refused because the queue was full")
+                .register(meterRegistry);
+        expiredCounter = Counter.builder("procureflow.credentials.expired")
+                .description("Hashing tasks dropped because they waited longer than the timeout")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        completionExecutor.shutdown();
+    }
+
+    /**
+     * Run credential work on the hashing executor
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                queueWaitTimer.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > TimeUnit.MILLISECONDS.toNanos(hashTimeoutMs)) {
+                    // The caller has already answered 503; skip the hash
+                    expiredCounter.increment();
+                    throw new HashingCapacityExceededException();
+                }
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new HashingCapacityExceededException();
+        }
+    }
+
+    /**
+     * Hash a new password on the hashing executor, waiting for the result
+     */
+    public String encode(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Check a password on the hashing executor without waiting. A null stored hash
+     * (unknown user) is checked against a dummy hash and never matches.
+     */
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return submit(() -> {
+                passwordEncoder.matches(rawPassword, unknownUserHash);
+                return false;
+            });
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether a stored hash is weaker than the configured cost and should be replaced after login
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Executor for work that follows a hash (token issue, session setup), keeping it off the hashing threads
+     */
+    public Executor getCompletionExecutor() {
+        return completionExecutor;
+    }
+
+    /**
+     * Check a password against its stored hash on the hashing executor, waiting for the result
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    public long getHashTimeoutMs() {
+        return hashTimeoutMs;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("rejected", (long) rejectedCounter.count());
+        stats.put("expired", (long) expiredCounter.count());
+        return stats;
+    }
+
+    private <T> T await(CompletableFuture<T> hashing) {
+        try {
+            return hashing.get(hashTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            // Completing the future keeps a still-queued task from running at all
+            hashing.cancel(false);
+            throw new HashingCapacityExceededException();
+        }
+    }
+
+    /**
+     * Hashing queue is full; the caller should retry shortly
+     */
+    public static class HashingCapacityExceededException extends RuntimeException {
+        public HashingCapacityExceededException() {
+            super("Too many concurrent sign-in attempts, please retry shortly");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.procureflow.security.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Login Rate Limiter
+ * Token buckets for authentication attempts, one per client IP and one per
+ * username. Buckets refill continuously and are updated with a CAS loop, so
+ * concurrent attempts never block each other. Buckets live in striped maps and
+ * are swept once they have been idle long enough to be full again.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    @Value("${procureflow.app.authRateLimitEnabled:true}")
+    private boolean enabled;
+
+    @Value("${procureflow.app.authRateLimitIpCapacity:30}")
+    private int ipCapacity;
+
+    @Value("${procureflow.app.authRateLimitIpRefillPerMinute:30}")
+    private int ipRefillPerMinute;
+
+    @Value("${procureflow.app.authRateLimitUserCapacity:5}")
+    private int userCapacity;
+
+    @Value("${procureflow.app.authRateLimitUserRefillPerMinute:5}")
+    private int userRefillPerMinute;
+
+    private final List<Map<String, TokenBucket>> ipBuckets = newStripes();
+
+    private final List<Map<String, TokenBucket>> userBuckets = newStripes();
+
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    /**
+     * Take one attempt for the client and, when known, the username. Returns 0 when
+     * allowed, otherwise the number of seconds until the next attempt would be.
+     */
+    public long tryAcquire(String clientIp, String username) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+
+        long ipWait = bucket(ipBuckets, clientIp, ipCapacity, ipRefillPerMinute).tryConsume(now);
+        if (ipWait > 0) {
+            throttled.incrementAndGet();
+            return toRetryAfterSeconds(ipWait);
+        }
+
+        if (username != null && !username.isBlank()) {
+            String key = username.trim().toLowerCase(Locale.ROOT);
+            long userWait = bucket(userBuckets, key, userCapacity, userRefillPerMinute).tryConsume(now);
+            if (userWait > 0) {
+                throttled.incrementAndGet();
+                return toRetryAfterSeconds(userWait);
+            }
+        }
+
+        allowed.incrementAndGet();
+        return 0;
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they behave exactly like a fresh one
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Map<String, TokenBucket> stripe : ipBuckets) {
+            stripe.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        for (Map<String, TokenBucket> stripe : userBuckets) {
+            stripe.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("trackedIps", size(ipBuckets));
+        stats.put("trackedUsernames", size(userBuckets));
+        stats.put("allowed", allowed.get());
+        stats.put("throttled", throttled.get());
+        return stats;
+    }
+
+    private static TokenBucket bucket(List<Map<String, TokenBucket>> stripes, String key, int capacity, int refillPerMinute) {
+        Map<String, TokenBucket> stripe = stripes.get((key.hashCode() & 0x7fffffff) % STRIPES);
+        TokenBucket bucket = stripe.get(key);
+        return bucket != null ? bucket : stripe.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerMinute));
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static int size(List<Map<String, TokenBucket>> stripes) {
+        int total = 0;
+        for (Map<String, TokenBucket> stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+
+    private static List<Map<String, TokenBucket>> newStripes() {
+        List<Map<String, TokenBucket>> stripes = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        return List.copyOf(stripes);
+    }
+
+    /**
+     * Continuously refilling bucket; state is swapped whole so tokens and timestamp always agree
+     */
+    static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        TokenBucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        /**
+         * Consume one token, returning 0 on success or the nanoseconds until one is available
+         */
+        long tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = refill(current, now);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return refill(state.get(), now) >= capacity;
+        }
+
+        private double refill(State current, long now) {
+            return Math.min(capacity, current.tokens() + Math.max(0, now - current.updatedAt()) * tokensPerNano);
+        }
+
+        private record State(double tokens, long updatedAt) {}
+    }
+}
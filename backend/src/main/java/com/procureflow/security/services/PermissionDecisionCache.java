@@ -0,0 +1,100 @@
+package com.procureflow.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.procureflow.service.ResourceChangedEvent;
+import com.procureflow.service.UserChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Permission Decision Cache
+ * Caches authorization decisions keyed by (user, resource, action). Each key also
+ * carries the current version of the user and of the resource; a role or ownership
+ * change bumps the version, so older decisions are simply never looked up again and
+ * age out with the TTL.
+ */
+@Service
+public class PermissionDecisionCache {
+
+    public static final String USER_VERSION_PREFIX = "user:";
+
+    @Value("${procureflow.app.permissionCacheMaxSize:50000}")
+    private long maxSize;
+
+    @Value("${procureflow.app.permissionCacheTtlSeconds:60}")
+    private long ttlSeconds;
+
+    // Versions are drawn from one counter so a value is never reused once its entry expires
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private Cache<DecisionKey, Boolean> decisions;
+    private Cache<String, Long> versions;
+
+    @PostConstruct
+    public void init() {
+        decisions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Outlives every decision written before the bump, so a version can fall back to 0 safely
+        versions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds * 2))
+                .build();
+    }
+
+    /**
+     * Cached answer for the check, computing it when absent or stale
+     */
+    public boolean decide(Long userId, String resourceType, Object resourceId, String action, BooleanSupplier check) {
+        if (userId == null) {
+            return check.getAsBoolean();
+        }
+        // Versions are read before the check runs, so a decision racing a change is stored under the old version
+        String resource = resourceType + ":" + resourceId;
+        DecisionKey key = new DecisionKey(userId, version(USER_VERSION_PREFIX + userId), resource, version(resource), action);
+        return decisions.get(key, k -> check.getAsBoolean());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        bump(USER_VERSION_PREFIX + event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChanged(ResourceChangedEvent event) {
+        bump(event.getResourceType() + ":" + event.getResourceId());
+    }
+
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = decisions.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("decisions", decisions.estimatedSize());
+        result.put("versionedKeys", versions.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+
+    private long version(String key) {
+        Long version = versions.getIfPresent(key);
+        return version != null ? version : 0L;
+    }
+
+    private void bump(String key) {
+        versions.put(key, versionSequence.incrementAndGet());
+    }
+
+    private record DecisionKey(Long userId, long userVersion, String resource, long resourceVersion, String action) {}
+}
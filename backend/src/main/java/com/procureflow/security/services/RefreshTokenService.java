@@ -0,0 +1,140 @@
+package com.procureflow.security.services;
+
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
+import com.procureflow.entity.RefreshToken;
+import com.procureflow.entity.User;
+import com.procureflow.repository.RefreshTokenRepository;
+import com.procureflow.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh Token Service
+ * Issues opaque refresh tokens and rotates them on every use. Presenting a token
+ * that was already rotated is treated as theft and revokes its whole family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${procureflow.app.jwtRefreshExpirationMs:604800000}")
+    private long refreshExpirationMs;
+
+    /**
+     * Start a new token family at sign-in
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for the next one in its family, returning the user it belongs to
+     */
+    @Transactional(noRollbackFor = RuntimeException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+
+        if (token.getUsedAt() != null || Boolean.TRUE.equals(token.getRevoked())) {
+            // An already rotated token came back: someone else holds the chain
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            logger.warn("Refresh token reuse detected for user {}, revoked family {}", token.getUserId(), token.getFamilyId());
+            throw new RuntimeException("Refresh token has already been used");
+        }
+        if (token.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Refresh token has expired");
+        }
+
+        User user = userRepository.findById(token.getUserId())
+                .filter(candidate -> Boolean.TRUE.equals(candidate.getIsActive()))
+                .orElseThrow(() -> new RuntimeException("User is no longer active"));
+
+        // Conditional update so two concurrent rotations of the same token cannot both win
+        if (refreshTokenRepository.markUsed(token.getId(), LocalDateTime.now()) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            throw new RuntimeException("Refresh token has already been used");
+        }
+
+        String next = create(user.getId(), token.getFamilyId());
+        return new Rotation(UserPrincipal.create(user), next);
+    }
+
+    /**
+     * Revoke the family a refresh token belongs to, used on logout
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /**
+     * Revoke every refresh token a user holds
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    @Workload(WorkloadClass.BACKGROUND)
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        logger.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(userId, hash(raw), familyId,
+                LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs))));
+        return raw;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Result of a rotation: the user to issue an access token for and the next refresh token
+     */
+    public record Rotation(UserPrincipal principal, String refreshToken) {}
+}
@@ -0,0 +1,217 @@
+package com.procureflow.security.services;
+
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
+import com.procureflow.entity.RevokedToken;
+import com.procureflow.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked Token Store
+ * In-memory view of the revoked_tokens table. A Bloom filter answers the common
+ * "not revoked" case with a few hash probes; only filter hits consult the exact
+ * map of revoked jti values. Other nodes' revocations arrive through a periodic
+ * incremental sync, and a periodic rebuild drops expired entries from both.
+ */
+@Service
+public class RevokedTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokenStore.class);
+
+    // Rows written by other nodes just before the last sync may commit slightly later
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${procureflow.app.revocationExpectedEntries:100000}")
+    private int expectedEntries;
+
+    @Value("${procureflow.app.revocationFalsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile Snapshot snapshot;
+    private volatile LocalDateTime lastSync;
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong filterHits = new AtomicLong();
+    private final AtomicLong revokedHits = new AtomicLong();
+
+    /**
+     * Load every unexpired revocation before the store serves its first check;
+     * an empty filter would accept revoked tokens until the first rebuild
+     */
+    @PostConstruct
+    public void init() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+        snapshot = snapshotOf(active);
+        // Rows committed while loading are picked up by the sync overlap
+        lastSync = now;
+        logger.info("Loaded {} active token revocations", active.size());
+    }
+
+    /**
+     * Whether the access token with this id has been revoked
+     */
+    public boolean isRevoked(String jti) {
+        checks.incrementAndGet();
+        Snapshot current = snapshot;
+        if (!current.filter().mightContain(jti)) {
+            return false;
+        }
+        filterHits.incrementAndGet();
+        Long expiresAt = current.revoked().get(jti);
+        boolean revoked = expiresAt != null && expiresAt > System.currentTimeMillis();
+        if (revoked) {
+            revokedHits.incrementAndGet();
+        }
+        return revoked;
+    }
+
+    /**
+     * Revoke an access token until it would have expired anyway
+     */
+    @Transactional
+    public void revoke(String jti, Long userId, LocalDateTime expiresAt) {
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, userId, expiresAt));
+        }
+        add(snapshot, jti, expiresAt);
+    }
+
+    /**
+     * Pull revocations made on other nodes since the last sync
+     */
+    @Scheduled(fixedDelayString = "${procureflow.app.revocationSyncIntervalMs:5000}")
+    @Workload(WorkloadClass.BACKGROUND)
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                lastSync.minusSeconds(SYNC_OVERLAP_SECONDS), now);
+        Snapshot current = snapshot;
+        recent.forEach(token -> add(current, token.getJti(), token.getExpiresAt()));
+        lastSync = now;
+    }
+
+    /**
+     * Rebuild filter and map from unexpired rows; a Bloom filter cannot forget, so this is how expired ids leave it
+     */
+    @Scheduled(fixedDelayString = "${procureflow.app.revocationRebuildIntervalMs:600000}",
+               initialDelayString = "${procureflow.app.revocationRebuildIntervalMs:600000}")
+    @Transactional
+    @Workload(WorkloadClass.BACKGROUND)
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(now);
+
+        Snapshot rebuilt = snapshotOf(active);
+
+        // Anything revoked locally while rebuilding is carried over
+        Snapshot previous = snapshot;
+        snapshot = rebuilt;
+        previous.revoked().forEach((jti, expiresAt) -> {
+            if (expiresAt > System.currentTimeMillis()) {
+                rebuilt.revoked().putIfAbsent(jti, expiresAt);
+                rebuilt.filter().put(jti);
+            }
+        });
+        logger.debug("Rebuilt revocation store with {} entries, purged {} expired rows", rebuilt.revoked().size(), deleted);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("revokedTokens", snapshot.revoked().size());
+        stats.put("checks", checks.get());
+        stats.put("filterHits", filterHits.get());
+        stats.put("revokedHits", revokedHits.get());
+        stats.put("falsePositives", filterHits.get() - revokedHits.get());
+        return stats;
+    }
+
+    private Snapshot snapshotOf(List<RevokedToken> active) {
+        Snapshot built = new Snapshot(
+                new BloomFilter(Math.max(expectedEntries, active.size() * 2), falsePositiveRate),
+                new ConcurrentHashMap<>());
+        active.forEach(token -> add(built, token.getJti(), token.getExpiresAt()));
+        return built;
+    }
+
+    private static void add(Snapshot target, String jti, LocalDateTime expiresAt) {
+        target.revoked().put(jti, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        target.filter().put(jti);
+    }
+
+    private record Snapshot(BloomFilter filter, Map<String, Long> revoked) {}
+
+    /**
+     * Lock-free Bloom filter over strings, using double hashing of a 64-bit FNV-1a hash
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.procureflow.security.services;
+
+import com.procureflow.repository.jdbc.UserJdbcRepository;
+import com.procureflow.service.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token Revocation Service
+ * Short-TTL cache of each user's active flag and last change time. A token is
+ * rejected when the user is inactive or was changed (deactivation, password,
+ * profile or roles) after the token was issued. Changes made on this node
+ * take effect on commit through UserChangedEvent; changes from other nodes
+ * within the TTL.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Value("${procureflow.app.jwtRevocationCacheTtlMs:30000}")
+    private long cacheTtlMs;
+
+    private final Map<Long, UserStatus> statuses = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Whether a token issued at the given time is still acceptable for the user
+     */
+    public boolean isTokenValid(Long userId, long issuedAtMillis) {
+        UserStatus status = getStatus(userId);
+        // iat has second precision, so compare at second granularity
+        return status != null && status.active() && issuedAtMillis / 1000 >= status.changedAtMillis() / 1000;
+    }
+
+    /**
+     * Drop the cached status once the change commits, so the next request re-reads it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        statuses.remove(event.getUserId());
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cachedUsers", statuses.size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("ttlMs", cacheTtlMs);
+        return stats;
+    }
+
+    private UserStatus getStatus(Long userId) {
+        long now = System.currentTimeMillis();
+        UserStatus cached = statuses.get(userId);
+        if (cached != null && now - cached.loadedAtMillis() < cacheTtlMs) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        Optional<Map<String, Object>> row = userJdbcRepository.findAuthStatus(userId);
+        if (row.isEmpty()) {
+            statuses.remove(userId);
+            return null;
+        }
+
+        UserStatus status = new UserStatus(isTrue(row.get().get("is_active")), toMillis(row.get().get("updated_at")), now);
+
+        if (statuses.size() >= MAX_ENTRIES) {
+            statuses.values().removeIf(entry -> now - entry.loadedAtMillis() >= cacheTtlMs);
+        }
+        statuses.put(userId, status);
+        return status;
+    }
+
+    private static boolean isTrue(Object value) {
+        return value instanceof Boolean flag ? flag : value instanceof Number number && number.intValue() != 0;
+    }
+
+    private static long toMillis(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.getTime();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime).getTime();
+        }
+        return 0L;
+    }
+
+    private record UserStatus(boolean active, long changedAtMillis, long loadedAtMillis) {}
+}
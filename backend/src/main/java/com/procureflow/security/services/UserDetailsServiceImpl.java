@@ -1,26 +1,49 @@
 package com.procureflow.security.services;
 
+import com.procureflow.config.CacheConfig;
 import com.procureflow.entity.User;
 import com.procureflow.repository.UserRepository;
+import com.procureflow.repository.jdbc.UserJdbcRepository;
+import com.procureflow.service.UserChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * User Details Service Implementation
  * Custom implementation of UserDetailsService for Spring Security
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Cached by the login identifier, which may be a username or an email
+     */
     @Override
     @Transactional
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_CACHE)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseGet(() -> userRepository.findByEmail(username)
@@ -29,4 +52,31 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
+
+    /**
+     * Store an upgraded hash after a successful login; the cached principal still holds the old one
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userJdbcRepository.rehashPassword(principal.getId(), newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(principal.getId()));
+
+        return new UserPrincipal(principal.getId(), principal.getUsername(), principal.getEmail(), newPassword,
+                principal.getFirstName(), principal.getLastName(), principal.getDepartment(), principal.getAuthorities());
+    }
+
+    /**
+     * Drop every cached entry for the user, whichever identifier it was loaded by
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().asMap().values()
+                    .removeIf(entry -> entry instanceof UserPrincipal principal && event.getUserId().equals(principal.getId()));
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
 }
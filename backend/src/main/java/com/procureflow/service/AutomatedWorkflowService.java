@@ -1,5 +1,7 @@
 package com.procureflow.service;
 
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
 import com.procureflow.entity.*;
 import com.procureflow.repository.*;
 import org.slf4j.Logger;
@@ -23,6 +25,7 @@ import java.util.concurrent.CompletableFuture;
 @Service
 @EnableAsync
 @Transactional
+@Workload(WorkloadClass.BACKGROUND)
 public class AutomatedWorkflowService {
 
     private static final Logger logger = LoggerFactory.getLogger(AutomatedWorkflowService.class);
@@ -45,6 +48,9 @@ public class AutomatedWorkflowService {
     @Autowired
     private PurchaseRequestService purchaseRequestService;
 
+    @Autowired
+    private NumberSequenceService numberSequenceService;
+
     /**
      * Auto-approve requests based on business rules
      * Runs every 30 seconds to check for eligible requests
@@ -183,6 +189,8 @@ public class AutomatedWorkflowService {
         notificationService.broadcastApprovalUpdate(
                 request.getId(),
                 "APPROVED",
+                systemApprover.getId(),
+                request.getRequestedBy() != null ? request.getRequestedBy().getId() : null,
                 "System (Auto-Approval)",
                 approval.getComments()
         );
@@ -236,6 +244,7 @@ public class AutomatedWorkflowService {
                     .orElse(request.getRequestedBy());
 
             PurchaseOrder order = new PurchaseOrder();
+            order.setOrderNumber(numberSequenceService.nextOrderNumber(request.getDepartment()));
             order.setPurchaseRequest(request);
             order.setCreatedBy(creator);
             order.setTotalAmount(request.getTotalAmount());
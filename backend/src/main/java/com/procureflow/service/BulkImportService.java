@@ -0,0 +1,459 @@
+package com.procureflow.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.procureflow.config.WorkloadClass;
+import com.procureflow.config.WorkloadContext;
+import com.procureflow.dto.request.PurchaseRequestDTO;
+import com.procureflow.dto.request.RequestItemDTO;
+import com.procureflow.entity.Priority;
+import com.procureflow.entity.RequestStatus;
+import com.procureflow.entity.User;
+import com.procureflow.repository.jdbc.PurchaseRequestJdbcRepository;
+import com.procureflow.repository.jdbc.UserJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk Import Service
+ * Loads purchase requests from CSV or NDJSON. Input is parsed one record at a
+ * time, each chunk is validated in parallel and written as batched multi-row
+ * inserts in its own transaction on the background pool. Imports go straight to
+ * the repository, so no per-row re-read or WebSocket broadcast happens. Rows that
+ * fail are written to an error file with their line number and reason. Only
+ * privileged imports (ADMIN, command line) may file rows under other users or
+ * with a status other than PENDING.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    @Autowired
+    private PurchaseRequestJdbcRepository purchaseRequestRepository;
+
+    @Autowired
+    private UserJdbcRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NumberSequenceService numberSequenceService;
+
+    @Value("${procureflow.app.importChunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${procureflow.app.importThreads:1}")
+    private int importThreads;
+
+    @Value("${procureflow.app.importQueueCapacity:8}")
+    private int queueCapacity;
+
+    @Value("${procureflow.app.importRetentionMs:86400000}")
+    private long retentionMs;
+
+    @Value("${procureflow.app.importSpoolDir:${java.io.tmpdir}}")
+    private String spoolDir;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(importThreads, importThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Spool the upload to disk and import it in the background
+     */
+    public ImportJob submit(ExportFormat format, InputStream upload, Long defaultRequesterId,
+                            boolean privileged) throws IOException {
+        ImportJob job = newJob(format);
+        Files.copy(upload, job.getSource(), StandardCopyOption.REPLACE_EXISTING);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, defaultRequesterId, privileged));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteFiles(job);
+            throw new ImportCapacityExceededException();
+        }
+        return job;
+    }
+
+    /**
+     * Import a local file on the calling thread (command-line use, always privileged)
+     */
+    public ImportJob importFile(ExportFormat format, Path file, Long defaultRequesterId) throws IOException {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, file,
+                Paths.get(file.toString() + ".errors.csv"));
+        run(job, defaultRequesterId, true);
+        return job;
+    }
+
+    public Optional<ImportJob> findJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Forget finished jobs and their files once the retention period has passed
+     */
+    @Scheduled(fixedDelay = 3600000)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(retentionMs));
+        jobs.values().removeIf(job -> {
+            boolean expired = job.isDone() && job.getFinishedAt().isBefore(cutoff);
+            if (expired) {
+                deleteFiles(job);
+            }
+            return expired;
+        });
+    }
+
+    private ImportJob newJob(ExportFormat format) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Path dir = Files.createDirectories(Paths.get(spoolDir, "procureflow-imports"));
+        return new ImportJob(id, format, dir.resolve(id + "." + format.getExtension()),
+                dir.resolve(id + ".errors.csv"));
+    }
+
+    private void run(ImportJob job, Long defaultRequesterId, boolean privileged) {
+        WorkloadClass previous = WorkloadContext.enter(WorkloadClass.BACKGROUND);
+        job.started();
+        logger.info("Import {} started ({})", job.getId(), job.getFormat());
+        try (BufferedReader reader = Files.newBufferedReader(job.getSource(), StandardCharsets.UTF_8);
+             Writer errors = Files.newBufferedWriter(job.getErrorFile(), StandardCharsets.UTF_8)) {
+            errors.write("line,error\r\n");
+
+            RecordSource source = job.getFormat() == ExportFormat.CSV ? csvSource(reader) : ndjsonSource(reader);
+            Map<String, Long> requesterIds = new HashMap<>();
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+
+            Map<String, Object> fields;
+            while ((fields = source.next()) != null) {
+                chunk.add(new RawRecord(source.line(), fields));
+                job.getRowsRead().incrementAndGet();
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, chunk, defaultRequesterId, privileged, requesterIds, errors);
+                    chunk.clear();
+                }
+            }
+            writeChunk(job, chunk, defaultRequesterId, privileged, requesterIds, errors);
+
+            job.finished(ImportJob.State.COMPLETED, null);
+            logger.info("Import {} completed: {} imported, {} failed", job.getId(),
+                    job.getRowsImported().get(), job.getRowsFailed().get());
+        } catch (Exception e) {
+            job.finished(ImportJob.State.FAILED, e.getMessage());
+            logger.error("Import {} failed after {} rows: {}", job.getId(), job.getRowsRead().get(), e.getMessage());
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private void writeChunk(ImportJob job, List<RawRecord> chunk, Long defaultRequesterId, boolean privileged,
+                            Map<String, Long> requesterIds, Writer errors) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Parsing and bean validation are CPU-bound and independent per row
+        List<ParsedRecord> parsed = chunk.parallelStream().map(this::parse).toList();
+
+        List<PurchaseRequestDTO> valid = new ArrayList<>(parsed.size());
+        List<Long> validLines = new ArrayList<>(parsed.size());
+        for (ParsedRecord record : parsed) {
+            String error = record.error();
+            if (error == null) {
+                Long requesterId = resolveRequester(record.requesterEmail(), defaultRequesterId, requesterIds);
+                if (requesterId == null) {
+                    error = "Unknown requester: " + record.requesterEmail();
+                } else if (!privileged && !requesterId.equals(defaultRequesterId)) {
+                    error = "Only administrators can import requests for other users";
+                } else if (!privileged && record.request().getStatus() != RequestStatus.PENDING) {
+                    error = "Only administrators can import requests with status " + record.request().getStatus();
+                } else {
+                    record.request().setRequestedById(requesterId);
+                }
+            }
+            if (error != null) {
+                reject(job, errors, record.line(), error);
+            } else {
+                valid.add(record.request());
+                validLines.add(record.line());
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            // Numbers are reserved up front; a rolled-back chunk only leaves gaps
+            numberSequenceService.assignRequestNumbers(valid);
+            insert(job, valid, validLines, errors);
+        }
+        errors.flush();
+    }
+
+    /**
+     * Insert rows in one transaction; when the database refuses them, retry each half
+     * on its own so that only the offending rows end up in the error file
+     */
+    private void insert(ImportJob job, List<PurchaseRequestDTO> rows, List<Long> lines, Writer errors)
+            throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> purchaseRequestRepository.insertBatch(rows));
+            job.getRowsImported().addAndGet(rows.size());
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                reject(job, errors, lines.get(0), "Rejected by database: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int half = rows.size() / 2;
+            insert(job, rows.subList(0, half), lines.subList(0, half), errors);
+            insert(job, rows.subList(half, rows.size()), lines.subList(half, lines.size()), errors);
+        }
+    }
+
+    private Long resolveRequester(String email, Long defaultRequesterId, Map<String, Long> requesterIds) {
+        if (email == null || email.isBlank()) {
+            return defaultRequesterId;
+        }
+        Long id = requesterIds.computeIfAbsent(email.trim().toLowerCase(Locale.ROOT),
+                key -> userRepository.findByEmail(key).map(User::getId).orElse(-1L));
+        return id > 0 ? id : null;
+    }
+
+    private void reject(ImportJob job, Writer errors, long line, String error) throws IOException {
+        job.getRowsFailed().incrementAndGet();
+        errors.write(line + ",\"" + error.replace("\"", "\"\"") + "\"\r\n");
+    }
+
+    private ParsedRecord parse(RawRecord raw) {
+        Map<String, Object> fields = raw.fields();
+        PurchaseRequestDTO request = new PurchaseRequestDTO();
+        try {
+            request.setTitle(text(fields, "title"));
+            request.setDescription(text(fields, "description"));
+            request.setDepartment(text(fields, "department"));
+            request.setJustification(text(fields, "justification"));
+
+            String priority = text(fields, "priority");
+            request.setPriority(priority != null ? Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT)) : null);
+            String status = text(fields, "status");
+            request.setStatus(status != null ? RequestStatus.valueOf(status.trim().toUpperCase(Locale.ROOT))
+                    : RequestStatus.PENDING);
+
+            String amount = text(fields, "totalamount");
+            request.setTotalAmount(amount != null ? new BigDecimal(amount.trim()) : null);
+
+            request.setExpectedDeliveryDate(dateTime(text(fields, "expecteddeliverydate")));
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            LocalDateTime createdAt = dateTime(text(fields, "createdat"));
+            LocalDateTime updatedAt = dateTime(text(fields, "updatedat"));
+            request.setCreatedAt(createdAt != null ? createdAt : now);
+            request.setUpdatedAt(updatedAt != null ? updatedAt : request.getCreatedAt());
+
+            Object items = fields.get("items");
+            request.setItems(items instanceof List<?> list && !list.isEmpty()
+                    ? objectMapper.convertValue(list, objectMapper.getTypeFactory()
+                            .constructCollectionType(List.class, RequestItemDTO.class))
+                    : new ArrayList<>());
+        } catch (RuntimeException e) {
+            return new ParsedRecord(raw.line(), null, null, "Unparseable value: " + e.getMessage());
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (ConstraintViolation<PurchaseRequestDTO> violation : validator.validate(request)) {
+            violations.add(violation.getPropertyPath() + " " + violation.getMessage());
+        }
+        if (!violations.isEmpty()) {
+            return new ParsedRecord(raw.line(), null, null, String.join("; ", violations));
+        }
+        return new ParsedRecord(raw.line(), request, text(fields, "requestedbyemail"), null);
+    }
+
+    private static String text(Map<String, Object> fields, String key) {
+        Object value = fields.get(key);
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static LocalDateTime dateTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() == 10 ? LocalDate.parse(trimmed).atStartOfDay()
+                : LocalDateTime.parse(trimmed.replace(' ', 'T')).withNano(0);
+    }
+
+    // requested_by_email, requestedByEmail and RequestedByEmail all name the same field
+    private static String normalize(String key) {
+        return key.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private RecordSource csvSource(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return emptySource();
+        }
+        List<String> keys = header.stream().map(BulkImportService::normalize).toList();
+        return new RecordSource() {
+            @Override
+            public Map<String, Object> next() throws IOException {
+                List<String> values;
+                do {
+                    values = csv.next();
+                } while (values != null && values.size() == 1 && values.get(0).isEmpty());
+                if (values == null) {
+                    return null;
+                }
+                Map<String, Object> fields = new HashMap<>();
+                for (int i = 0; i < keys.size() && i < values.size(); i++) {
+                    fields.put(keys.get(i), unguard(values.get(i)));
+                }
+                return fields;
+            }
+
+            @Override
+            public long line() {
+                return csv.getRecordLine();
+            }
+        };
+    }
+
+    private RecordSource ndjsonSource(BufferedReader reader) throws IOException {
+        MappingIterator<Map<String, Object>> iterator = objectMapper.readerForMapOf(Object.class).readValues(reader);
+        return new RecordSource() {
+            private long line;
+
+            @Override
+            public Map<String, Object> next() throws IOException {
+                if (!iterator.hasNextValue()) {
+                    return null;
+                }
+                line = iterator.getParser().currentLocation().getLineNr();
+                Map<String, Object> fields = new HashMap<>();
+                iterator.nextValue().forEach((key, value) -> fields.put(normalize(key), value));
+                return fields;
+            }
+
+            @Override
+            public long line() {
+                return line;
+            }
+        };
+    }
+
+    private static RecordSource emptySource() {
+        return new RecordSource() {
+            @Override
+            public Map<String, Object> next() {
+                return null;
+            }
+
+            @Override
+            public long line() {
+                return 0;
+            }
+        };
+    }
+
+    // Undo the spreadsheet formula guard the CSV export adds
+    private static String unguard(String value) {
+        return value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0
+                ? value.substring(1) : value;
+    }
+
+    private static void deleteFiles(ImportJob job) {
+        try {
+            Files.deleteIfExists(job.getSource());
+            Files.deleteIfExists(job.getErrorFile());
+        } catch (IOException e) {
+            logger.warn("Could not delete files of import {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Import queue is full; the caller should retry later
+     */
+    public static class ImportCapacityExceededException extends RuntimeException {
+        public ImportCapacityExceededException() {
+            super("Too many imports in progress, please retry later");
+        }
+    }
+
+    private interface RecordSource {
+        Map<String, Object> next() throws IOException;
+
+        long line();
+    }
+
+    private record RawRecord(long line, Map<String, Object> fields) {}
+
+    private record ParsedRecord(long line, PurchaseRequestDTO request, String requesterEmail, String error) {}
+}
@@ -0,0 +1,62 @@
+package com.procureflow.service;
+
+import com.procureflow.entity.ApprovalStatus;
+import com.procureflow.entity.OrderStatus;
+import com.procureflow.entity.RequestStatus;
+import com.procureflow.repository.jdbc.ApprovalJdbcRepository;
+import com.procureflow.repository.jdbc.PurchaseOrderJdbcRepository;
+import com.procureflow.repository.jdbc.PurchaseRequestJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Export Service
+ * Streams purchase requests, orders and approvals as CSV or NDJSON straight from
+ * the database cursor to the response, with constant memory at any size
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    @Autowired
+    private PurchaseRequestJdbcRepository purchaseRequestRepository;
+
+    @Autowired
+    private PurchaseOrderJdbcRepository purchaseOrderRepository;
+
+    @Autowired
+    private ApprovalJdbcRepository approvalRepository;
+
+    public long exportPurchaseRequests(ExportFormat format, RequestStatus status, OutputStream out) throws IOException {
+        return export("purchase-requests", format, out,
+                extractor -> purchaseRequestRepository.streamForExport(status, extractor));
+    }
+
+    public long exportPurchaseOrders(ExportFormat format, OrderStatus status, OutputStream out) throws IOException {
+        return export("purchase-orders", format, out,
+                extractor -> purchaseOrderRepository.streamForExport(status, extractor));
+    }
+
+    public long exportApprovals(ExportFormat format, ApprovalStatus status, OutputStream out) throws IOException {
+        return export("approvals", format, out,
+                extractor -> approvalRepository.streamForExport(status, extractor));
+    }
+
+    private long export(String name, ExportFormat format, OutputStream out,
+                        Consumer<ResultSetExtractor<?>> query) throws IOException {
+        long started = System.currentTimeMillis();
+        ResultSetExportWriter writer = new ResultSetExportWriter(format, out);
+        query.accept(writer);
+        long rows = writer.finish();
+        logger.info("Exported {} {} rows as {} in {} ms", rows, name, format, System.currentTimeMillis() - started);
+        return rows;
+    }
+}
@@ -0,0 +1,86 @@
+package com.procureflow.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Import Job
+ * Progress and outcome of one bulk import; rows that fail go to an error file
+ */
+public class ImportJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final ExportFormat format;
+    private final Path source;
+    private final Path errorFile;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String message;
+
+    public ImportJob(String id, ExportFormat format, Path source, Path errorFile) {
+        this.id = id;
+        this.format = format;
+        this.source = source;
+        this.errorFile = errorFile;
+    }
+
+    void started() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    void finished(State outcome, String message) {
+        this.message = message;
+        finishedAt = LocalDateTime.now();
+        state = outcome;
+    }
+
+    public boolean isDone() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", id);
+        map.put("format", format);
+        map.put("state", state);
+        map.put("rowsRead", rowsRead.get());
+        map.put("rowsImported", rowsImported.get());
+        map.put("rowsFailed", rowsFailed.get());
+        map.put("createdAt", createdAt);
+        map.put("startedAt", startedAt);
+        map.put("finishedAt", finishedAt);
+        if (startedAt != null) {
+            long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : LocalDateTime.now()).toMillis();
+            map.put("rowsPerSecond", millis > 0 ? rowsRead.get() * 1000 / millis : rowsRead.get());
+        }
+        if (message != null) {
+            map.put("message", message);
+        }
+        map.put("errorsUrl", rowsFailed.get() > 0 ? "/api/imports/" + id + "/errors" : null);
+        return map;
+    }
+
+    public String getId() { return id; }
+    public ExportFormat getFormat() { return format; }
+    public Path getSource() { return source; }
+    public Path getErrorFile() { return errorFile; }
+    public State getState() { return state; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public AtomicLong getRowsRead() { return rowsRead; }
+    public AtomicLong getRowsImported() { return rowsImported; }
+    public AtomicLong getRowsFailed() { return rowsFailed; }
+}
@@ -0,0 +1,206 @@
+package com.procureflow.service;
+
+import com.procureflow.dto.request.PurchaseRequestDTO;
+import com.procureflow.repository.jdbc.NumberSequenceJdbcRepository;
+import com.procureflow.repository.jdbc.RowDecoding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number Sequence Service
+ * Hi/lo generator for business numbers such as purchase order and request
+ * numbers. Each node reserves a block of values from number_sequences and hands
+ * them out from memory with a single atomic increment; the database is only
+ * visited once per block.
+ * Numbers are unique across nodes but not gap-free: unused values of a block are
+ * lost on restart.
+ */
+@Service
+public class NumberSequenceService {
+
+    /**
+     * Which part of the number restarts its sequence
+     */
+    public enum Scope {
+        NONE, YEAR, DEPARTMENT;
+
+        public static Scope of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final int MAX_DEPARTMENT_CODE_LENGTH = 12;
+
+    @Autowired
+    private NumberSequenceJdbcRepository numberSequenceRepository;
+
+    @Value("${procureflow.app.numberBlockSize:50}")
+    private int blockSize;
+
+    @Value("${procureflow.app.orderNumberScope:year}")
+    private String orderNumberScope;
+
+    @Value("${procureflow.app.orderNumberWidth:6}")
+    private int orderNumberWidth;
+
+    @Value("${procureflow.app.requestNumberScope:year}")
+    private String requestNumberScope;
+
+    @Value("${procureflow.app.requestNumberWidth:6}")
+    private int requestNumberWidth;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, Object> refillLocks = new ConcurrentHashMap<>();
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong issued = new AtomicLong();
+
+    /**
+     * Next purchase order number, e.g. PO-2026-000123 (year scope) or PO-IT-000123 (department scope)
+     */
+    public String nextOrderNumber(String department) {
+        return nextNumber("PO", Scope.of(orderNumberScope), department, orderNumberWidth);
+    }
+
+    /**
+     * Next purchase request number, e.g. PR-2026-000123
+     */
+    public String nextRequestNumber(String department) {
+        return nextNumber("PR", Scope.of(requestNumberScope), department, requestNumberWidth);
+    }
+
+    /**
+     * Give every request without a number one; requests sharing a sequence take
+     * a single contiguous reservation when there are more of them than a block holds
+     */
+    public void assignRequestNumbers(List<PurchaseRequestDTO> requests) {
+        Scope scope = Scope.of(requestNumberScope);
+        Map<String, List<PurchaseRequestDTO>> bySequence = new LinkedHashMap<>();
+        for (PurchaseRequestDTO request : requests) {
+            if (request.getRequestNumber() == null) {
+                bySequence.computeIfAbsent(sequenceName("PR", scope, request.getDepartment()),
+                        key -> new ArrayList<>()).add(request);
+            }
+        }
+
+        bySequence.forEach((sequence, pending) -> {
+            String prefix = sequence + "-";
+            if (pending.size() > blockSize) {
+                long first = reserveRange(sequence, pending.size());
+                for (int i = 0; i < pending.size(); i++) {
+                    pending.get(i).setRequestNumber(RowDecoding.zeroPadded(prefix, first + i, requestNumberWidth));
+                }
+            } else {
+                for (PurchaseRequestDTO request : pending) {
+                    request.setRequestNumber(RowDecoding.zeroPadded(prefix, next(sequence), requestNumberWidth));
+                }
+            }
+        });
+    }
+
+    /**
+     * Next number of type within the given scope: TYPE[-SCOPE]-000123
+     */
+    public String nextNumber(String type, Scope scope, String department, int width) {
+        String sequence = sequenceName(type, scope, department);
+        return RowDecoding.zeroPadded(sequence + "-", next(sequence), width);
+    }
+
+    /**
+     * Sequence name for a type and scope, e.g. "PO", "PO-2026" or "PO-IT"
+     */
+    public String sequenceName(String type, Scope scope, String department) {
+        return switch (scope) {
+            case NONE -> type;
+            case YEAR -> type + "-" + Year.now().getValue();
+            case DEPARTMENT -> type + "-" + departmentCode(department);
+        };
+    }
+
+    /**
+     * Next value of a sequence; lock-free unless the current block is used up
+     */
+    public long next(String sequence) {
+        while (true) {
+            Block block = blocks.get(sequence);
+            if (block != null) {
+                long value = block.cursor.getAndIncrement();
+                if (value < block.end) {
+                    issued.incrementAndGet();
+                    return value;
+                }
+            }
+            refill(sequence, block);
+        }
+    }
+
+    /**
+     * First of count consecutive values, reserved straight from the database; for
+     * batch inserts that need more numbers than a block holds
+     */
+    public long reserveRange(String sequence, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        reservations.incrementAndGet();
+        issued.addAndGet(count);
+        return numberSequenceRepository.reserveBlock(sequence, count);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("blockSize", blockSize);
+        stats.put("orderNumberScope", orderNumberScope);
+        stats.put("requestNumberScope", requestNumberScope);
+        stats.put("sequences", blocks.size());
+        stats.put("blockReservations", reservations.get());
+        stats.put("numbersIssued", issued.get());
+        return stats;
+    }
+
+    private void refill(String sequence, Block exhausted) {
+        synchronized (refillLocks.computeIfAbsent(sequence, key -> new Object())) {
+            // Another thread may have installed a fresh block while this one waited
+            if (blocks.get(sequence) == exhausted) {
+                long first = numberSequenceRepository.reserveBlock(sequence, blockSize);
+                blocks.put(sequence, new Block(first, first + blockSize));
+                reservations.incrementAndGet();
+            }
+        }
+    }
+
+    // "Information Technology" -> INFORMATIONT; keeps numbers short and URL-safe
+    private static String departmentCode(String department) {
+        if (department == null || department.isBlank()) {
+            return "GEN";
+        }
+        StringBuilder code = new StringBuilder(MAX_DEPARTMENT_CODE_LENGTH);
+        for (int i = 0; i < department.length() && code.length() < MAX_DEPARTMENT_CODE_LENGTH; i++) {
+            char c = department.charAt(i);
+            if (Character.isLetterOrDigit(c) && c < 128) {
+                code.append(Character.toUpperCase(c));
+            }
+        }
+        return code.isEmpty() ? "GEN" : code.toString();
+    }
+
+    private static class Block {
+        final AtomicLong cursor;
+        final long end;
+
+        Block(long first, long end) {
+            this.cursor = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.procureflow.service;
+
+import com.procureflow.dto.realtime.SequencedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Real-time Event Log
+ * Bounded per-topic ring buffers of recent broadcasts so reconnecting clients
+ * can resume from their last seen sequence instead of reloading from REST.
+ * Sequences are seeded from the clock at startup, so they keep increasing
+ * across restarts and a stale client sequence always resolves to a resync.
+ */
+@Service
+public class RealTimeEventLog {
+
+    public static final String STATISTICS_TOPIC = "/topic/dashboard/statistics";
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final long startSequence = sequence.get();
+
+    private final Map<String, TopicBuffer> buffers = new ConcurrentHashMap<>();
+    private final List<BiConsumer<SequencedEvent, String[]>> listeners = new CopyOnWriteArrayList<>();
+
+    @Value("${procureflow.websocket.replay-buffer-size:256}")
+    private int bufferSize;
+
+    /**
+     * Receive every recorded event in sequence order. Listeners run under the
+     * record lock and must only hand the event off, never block.
+     */
+    public void addListener(BiConsumer<SequencedEvent, String[]> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Assign the next sequence to an event and record it under each topic.
+     * Serialized so every ring, and every listener, sees events ordered by sequence.
+     */
+    public synchronized long record(SequencedEvent event, String... topics) {
+        long next = sequence.incrementAndGet();
+        event.setSequence(next);
+        for (String topic : topics) {
+            buffers.computeIfAbsent(topic, this::newBuffer).add(event);
+        }
+        for (BiConsumer<SequencedEvent, String[]> listener : listeners) {
+            listener.accept(event, topics);
+        }
+        return next;
+    }
+
+    /**
+     * Events on a topic published after the given sequence
+     */
+    public Map<String, Object> replay(String topic, long since) {
+        long latest = sequence.get();
+        TopicBuffer buffer = buffers.get(topic);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("topic", topic);
+        result.put("since", since);
+        result.put("latestSequence", latest);
+
+        if (since > latest) {
+            // Sequence handed out by a previous run with a skewed clock
+            result.put("resyncRequired", true);
+            result.put("events", List.of());
+            return result;
+        }
+
+        if (buffer == null) {
+            // Nothing published on this topic since startup
+            result.put("resyncRequired", since < startSequence);
+            result.put("events", List.of());
+            return result;
+        }
+
+        TopicBuffer.Snapshot snapshot = buffer.after(since);
+        if (snapshot.gap() && STATISTICS_TOPIC.equals(topic)) {
+            // The latest statistics snapshot is itself a full resync
+            result.put("resyncRequired", false);
+            result.put("events", buffer.latest());
+            return result;
+        }
+        result.put("resyncRequired", snapshot.gap());
+        result.put("events", snapshot.events());
+        return result;
+    }
+
+    public long getLatestSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Buffer occupancy per topic
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> topics = new LinkedHashMap<>();
+        buffers.forEach((topic, buffer) -> topics.put(topic, buffer.size()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("latestSequence", sequence.get());
+        stats.put("bufferSize", bufferSize);
+        stats.put("topics", topics);
+        return stats;
+    }
+
+    private TopicBuffer newBuffer(String topic) {
+        // Statistics updates are full snapshots, only the latest one matters
+        int capacity = STATISTICS_TOPIC.equals(topic) ? 1 : Math.max(1, bufferSize);
+        return new TopicBuffer(capacity, startSequence);
+    }
+
+    /**
+     * Fixed-size ring of events for a single topic
+     */
+    private static final class TopicBuffer {
+
+        private final SequencedEvent[] ring;
+        private int head;
+        private int count;
+        // Highest sequence no longer held; a client at or past it has seen everything evicted
+        private long evictedUpTo;
+
+        TopicBuffer(int capacity, long startSequence) {
+            this.ring = new SequencedEvent[capacity];
+            this.evictedUpTo = startSequence;
+        }
+
+        synchronized void add(SequencedEvent event) {
+            int tail = (head + count) % ring.length;
+            if (count == ring.length) {
+                evictedUpTo = ring[head].getSequence();
+                ring[head] = event;
+                head = (head + 1) % ring.length;
+            } else {
+                ring[tail] = event;
+                count++;
+            }
+        }
+
+        synchronized Snapshot after(long since) {
+            if (since < evictedUpTo) {
+                return new Snapshot(true, List.of());
+            }
+            List<SequencedEvent> events = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                SequencedEvent event = ring[(head + i) % ring.length];
+                if (event.getSequence() > since) {
+                    events.add(event);
+                }
+            }
+            return new Snapshot(false, events);
+        }
+
+        synchronized List<SequencedEvent> latest() {
+            return count == 0 ? List.of() : List.of(ring[(head + count - 1) % ring.length]);
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        record Snapshot(boolean gap, List<SequencedEvent> events) {}
+    }
+}
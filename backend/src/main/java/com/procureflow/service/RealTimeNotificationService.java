@@ -1,13 +1,17 @@
 package com.procureflow.service;
 
 import com.procureflow.dto.realtime.NotificationDTO;
+import com.procureflow.dto.realtime.SequencedEvent;
 import com.procureflow.dto.realtime.StatisticsUpdateDTO;
 import com.procureflow.dto.request.PurchaseRequestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -17,11 +21,19 @@ import java.util.Map;
 @Service
 public class RealTimeNotificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RealTimeNotificationService.class);
+
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private RealTimeEventLog eventLog;
+
+    @Autowired
+    private WebSocketSessionRegistry sessionRegistry;
+
     /**
-     * Broadcast purchase request update to all users
+     * Broadcast a summary of a purchase request update to all users, the full request to its owners
      */
     public void broadcastPurchaseRequestUpdate(PurchaseRequestDTO request, String action) {
         NotificationDTO notification = new NotificationDTO();
@@ -32,34 +44,51 @@ public class RealTimeNotificationService {
         notification.setTimestamp(LocalDateTime.now());
         notification.setAction(action);
 
-        // Broadcast to all subscribers of purchase request updates
-        messagingTemplate.convertAndSend("/topic/purchase-requests", notification);
-        
-        // Send to dashboard for real-time statistics update
-        messagingTemplate.convertAndSend("/topic/dashboard/updates", notification);
+        // Shared topics carry no title, amount, requester or justification; subscribers refetch what they may see
+        NotificationDTO summary = new NotificationDTO(notification.getType(), notification.getTitle(),
+                String.format("Request #%d: %s", request.getId(), action.toLowerCase()));
+        summary.setData(requestSummary(request));
+        summary.setTimestamp(notification.getTimestamp());
+        summary.setAction(action);
+        publish(summary, "/topic/purchase-requests", "/topic/dashboard/updates");
+
+        // Personal copies for the requester and, on assignment, the assignee
+        sendToUser(request.getRequestedById(), personalCopy(notification, "Your request: " + notification.getTitle()));
+        if ("ASSIGNED".equalsIgnoreCase(action)) {
+            sendToUser(request.getAssignedToId(), personalCopy(notification, "Request assigned to you"));
+        }
     }
 
     /**
-     * Broadcast approval update
+     * Broadcast approval update; approver and requester also get the comments on their personal queue
      */
-    public void broadcastApprovalUpdate(Long requestId, String status, String approverName, String comments) {
+    public void broadcastApprovalUpdate(Long requestId, String status, Long approverId, Long requestedById,
+                                        String approverName, String comments) {
         NotificationDTO notification = new NotificationDTO();
         notification.setType("APPROVAL_UPDATE");
         notification.setTitle("Request " + status);
-        notification.setMessage(String.format("Request #%d has been %s by %s", requestId, status.toLowerCase(), approverName));
+        notification.setMessage(String.format("Request #%d has been %s", requestId, status.toLowerCase()));
         notification.setTimestamp(LocalDateTime.now());
         notification.setAction(status);
-        
-        Map<String, Object> data = Map.of(
+        notification.setData(Map.of(
             "requestId", requestId,
-            "status", status,
-            "approverName", approverName,
-            "comments", comments
-        );
-        notification.setData(data);
-
-        messagingTemplate.convertAndSend("/topic/approvals", notification);
-        messagingTemplate.convertAndSend("/topic/dashboard/updates", notification);
+            "status", status
+        ));
+
+        publish(notification, "/topic/approvals", "/topic/dashboard/updates");
+
+        NotificationDTO personal = personalCopy(notification, notification.getTitle());
+        personal.setMessage(String.format("Request #%d has been %s by %s", requestId, status.toLowerCase(), approverName));
+        Map<String, Object> data = new HashMap<>();
+        data.put("requestId", requestId);
+        data.put("status", status);
+        data.put("approverName", approverName);
+        data.put("comments", comments);
+        personal.setData(data);
+        sendToUser(approverId, personal);
+        if (requestedById != null && !requestedById.equals(approverId)) {
+            sendToUser(requestedById, personalCopy(personal, "Your request: " + personal.getTitle()));
+        }
     }
 
     /**
@@ -81,8 +110,7 @@ public class RealTimeNotificationService {
         );
         notification.setData(data);
 
-        messagingTemplate.convertAndSend("/topic/purchase-orders", notification);
-        messagingTemplate.convertAndSend("/topic/dashboard/updates", notification);
+        publish(notification, "/topic/purchase-orders", "/topic/dashboard/updates");
     }
 
     /**
@@ -94,14 +122,30 @@ public class RealTimeNotificationService {
         update.setTimestamp(LocalDateTime.now());
         update.setType("STATISTICS_UPDATE");
 
-        messagingTemplate.convertAndSend("/topic/dashboard/statistics", update);
+        publish(update, RealTimeEventLog.STATISTICS_TOPIC);
     }
 
     /**
      * Send personal notification to specific user
      */
-    public void sendPersonalNotification(String username, NotificationDTO notification) {
+    public boolean sendPersonalNotification(String username, NotificationDTO notification) {
+        // Only users with an authenticated session have a queue; nothing is broadcast in their place
+        if (!sessionRegistry.isConnected(username)) {
+            logger.debug("Dropping personal notification for {}: no open session", username);
+            return false;
+        }
+        notification.setUserId(username);
         messagingTemplate.convertAndSendToUser(username, "/queue/notifications", notification);
+        return true;
+    }
+
+    /**
+     * Send personal notification to a user by id, if they are connected
+     */
+    public boolean sendToUser(Long userId, NotificationDTO notification) {
+        return sessionRegistry.findConnectedUsername(userId)
+                .map(username -> sendPersonalNotification(username, notification))
+                .orElse(false);
     }
 
     /**
@@ -123,8 +167,36 @@ public class RealTimeNotificationService {
         );
         notification.setData(data);
 
-        messagingTemplate.convertAndSend("/topic/workflow", notification);
-        messagingTemplate.convertAndSend("/topic/dashboard/updates", notification);
+        publish(notification, "/topic/workflow", "/topic/dashboard/updates");
+    }
+
+    /**
+     * Sequence an event, record it for replay (which also feeds the SSE streams) and send it to each destination
+     */
+    private void publish(SequencedEvent event, String... destinations) {
+        eventLog.record(event, destinations);
+        for (String destination : destinations) {
+            messagingTemplate.convertAndSend(destination, event);
+        }
+    }
+
+    private static Map<String, Object> requestSummary(PurchaseRequestDTO request) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("id", request.getId());
+        summary.put("requestNumber", request.getRequestNumber());
+        summary.put("status", request.getStatus());
+        summary.put("priority", request.getPriority());
+        summary.put("department", request.getDepartment());
+        return summary;
+    }
+
+    private NotificationDTO personalCopy(NotificationDTO notification, String title) {
+        NotificationDTO copy = new NotificationDTO(notification.getType(), title, notification.getMessage());
+        copy.setData(notification.getData());
+        copy.setTimestamp(notification.getTimestamp());
+        copy.setAction(notification.getAction());
+        copy.setPriority(notification.getPriority());
+        return copy;
     }
 
     private String getNotificationTitle(String action, PurchaseRequestDTO request) {
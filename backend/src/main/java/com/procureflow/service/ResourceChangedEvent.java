@@ -0,0 +1,20 @@
+package com.procureflow.service;
+
+/**
+ * Resource Changed Event
+ * Published when an order or approval changes owner, assignee or status,
+ * so cached authorization decisions about it are no longer used
+ */
+public class ResourceChangedEvent {
+
+    private final String resourceType;
+    private final Long resourceId;
+
+    public ResourceChangedEvent(String resourceType, Long resourceId) {
+        this.resourceType = resourceType;
+        this.resourceId = resourceId;
+    }
+
+    public String getResourceType() { return resourceType; }
+    public Long getResourceId() { return resourceId; }
+}
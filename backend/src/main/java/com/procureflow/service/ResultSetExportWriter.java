@@ -0,0 +1,174 @@
+package com.procureflow.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * ResultSet Export Writer
+ * Writes each row to the output as soon as the driver hands it over, so memory
+ * stays flat however many rows there are. Column labels become the CSV header or
+ * the NDJSON field names; the header comes from the result set metadata, so an
+ * empty CSV export still has one. A slow client blocks the write, which in turn stops
+ * reading from the database: the socket is the backpressure.
+ */
+public class ResultSetExportWriter implements ResultSetExtractor<Long> {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    // Flush periodically so the client sees progress on long exports
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final ExportFormat format;
+    private final OutputStream out;
+
+    private Writer csv;
+    private JsonGenerator json;
+    private String[] labels;
+    private long rows;
+
+    public ResultSetExportWriter(ExportFormat format, OutputStream out) {
+        this.format = format;
+        this.out = out;
+    }
+
+    @Override
+    public Long extractData(ResultSet rs) throws SQLException {
+        try {
+            start(rs.getMetaData());
+            while (rs.next()) {
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(rs);
+                } else {
+                    writeJsonRow(rs);
+                }
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    flush();
+                }
+            }
+        } catch (IOException e) {
+            // Client went away; abort the query rather than keep streaming
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    /**
+     * Flush what is buffered, including a header-only CSV when there were no rows
+     */
+    public long finish() throws IOException {
+        flush();
+        return rows;
+    }
+
+    private void start(ResultSetMetaData metaData) throws SQLException, IOException {
+        labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        if (format == ExportFormat.CSV) {
+            csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (int i = 0; i < labels.length; i++) {
+                if (i > 0) {
+                    csv.write(',');
+                }
+                csv.write(csvEscape(labels[i]));
+            }
+            csv.write("\r\n");
+        } else {
+            json = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+            json.setRootValueSeparator(null);
+        }
+    }
+
+    private void writeCsvRow(ResultSet rs) throws SQLException, IOException {
+        for (int i = 0; i < labels.length; i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            Object value = rs.getObject(i + 1);
+            if (value != null) {
+                csv.write(csvEscape(text(value)));
+            }
+        }
+        csv.write("\r\n");
+    }
+
+    private void writeJsonRow(ResultSet rs) throws SQLException, IOException {
+        json.writeStartObject();
+        for (int i = 0; i < labels.length; i++) {
+            Object value = rs.getObject(i + 1);
+            json.writeFieldName(labels[i]);
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof BigDecimal decimal) {
+                json.writeNumber(decimal);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                json.writeNumber(((Number) value).longValue());
+            } else if (value instanceof Boolean bool) {
+                json.writeBoolean(bool);
+            } else {
+                json.writeString(text(value));
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void flush() throws IOException {
+        if (csv != null) {
+            csv.flush();
+        }
+        if (json != null) {
+            json.flush();
+        }
+    }
+
+    private static String text(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralised for spreadsheet imports
+    private static String csvEscape(String value) {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0 && !isNumber(value)) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static boolean isNumber(String value) {
+        for (int i = 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && c != '.') {
+                return false;
+            }
+        }
+        return value.length() > 1;
+    }
+}
@@ -0,0 +1,251 @@
+package com.procureflow.service;
+
+import com.procureflow.dto.realtime.SequencedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE Stream Service
+ * Server-Sent Events fan-out of the dashboard topics for read-only screens.
+ * Connections are held by the servlet container's async support, not by a
+ * thread each; writes go through a per-client bounded queue drained on a
+ * small shared pool, so a slow client never stalls the publisher. A client
+ * that falls too far behind is closed and resumes with Last-Event-ID.
+ */
+@Service
+public class SseStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseStreamService.class);
+
+    public static final Map<String, String> STREAM_TOPICS = Map.of(
+            "statistics", RealTimeEventLog.STATISTICS_TOPIC,
+            "updates", "/topic/dashboard/updates"
+    );
+
+    private static final int MAX_PENDING_EVENTS = 256;
+
+    @Autowired
+    private RealTimeEventLog eventLog;
+
+    @Value("${procureflow.websocket.heartbeat-interval:30000}")
+    private long heartbeatInterval;
+
+    private final Set<SseClient> clients = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService writers;
+    private ScheduledExecutorService heartbeats;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+            Thread thread = new Thread(runnable, "sse-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = Math.max(1000, heartbeatInterval / 2);
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, tick, tick, TimeUnit.MILLISECONDS);
+        // Fan out from inside the log's record lock so clients never see sequences out of order
+        eventLog.addListener(this::publish);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        writers.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+    }
+
+    /**
+     * Open a stream over the given short topic names, replaying anything after lastEventId
+     */
+    public SseEmitter subscribe(List<String> topicNames, Long lastEventId) {
+        List<String> topics = topicNames.stream()
+                .map(name -> {
+                    String topic = STREAM_TOPICS.get(name);
+                    if (topic == null) {
+                        throw new UnknownTopicException("Unknown stream topic: " + name + ", expected one of " + STREAM_TOPICS.keySet());
+                    }
+                    return topic;
+                })
+                .distinct()
+                .toList();
+
+        SseEmitter emitter = new SseEmitter(0L);
+        SseClient client = new SseClient(emitter, Set.copyOf(topics));
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(error -> clients.remove(client));
+
+        // Register and replay under the client lock: live events wait until the replay is queued,
+        // and anything the replay already covered is skipped by sequence
+        synchronized (client) {
+            clients.add(client);
+            if (lastEventId != null) {
+                replay(client, lastEventId);
+            } else {
+                client.enqueue(SseEmitter.event().comment("connected").reconnectTime(heartbeatInterval));
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Called by the event log, in sequence order, for every recorded broadcast
+     */
+    public void publish(SequencedEvent event, String... destinations) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        for (SseClient client : clients) {
+            for (String destination : destinations) {
+                if (client.topics.contains(destination)) {
+                    client.send(event, destination);
+                    break;
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clients", clients.size());
+        stats.put("heartbeatInterval", heartbeatInterval);
+        return stats;
+    }
+
+    private void replay(SseClient client, long lastEventId) {
+        List<Map.Entry<String, SequencedEvent>> missed = new ArrayList<>();
+        for (String topic : client.topics) {
+            Map<String, Object> replay = eventLog.replay(topic, lastEventId);
+            if (Boolean.TRUE.equals(replay.get("resyncRequired"))) {
+                // Gap is larger than the buffer, the client reloads from REST
+                client.enqueue(SseEmitter.event().name("resync").data(Map.of("topic", topic)));
+                continue;
+            }
+            for (Object event : (List<?>) replay.get("events")) {
+                missed.add(Map.entry(topic, (SequencedEvent) event));
+            }
+        }
+        missed.sort(Comparator.comparing(entry -> entry.getValue().getSequence()));
+        missed.forEach(entry -> client.send(entry.getValue(), entry.getKey()));
+    }
+
+    private void sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        for (SseClient client : clients) {
+            if (now - client.lastWrite >= heartbeatInterval) {
+                client.enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private static String eventName(String topic) {
+        return STREAM_TOPICS.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(topic))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse("message");
+    }
+
+    /**
+     * Raised for topic names outside STREAM_TOPICS; a client error, not a server one
+     */
+    public static class UnknownTopicException extends RuntimeException {
+        public UnknownTopicException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * One connected stream with its own bounded write queue
+     */
+    private final class SseClient {
+
+        private final SseEmitter emitter;
+        private final Set<String> topics;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long lastWrite = System.currentTimeMillis();
+        private volatile long lastSequence;
+
+        SseClient(SseEmitter emitter, Set<String> topics) {
+            this.emitter = emitter;
+            this.topics = topics;
+        }
+
+        synchronized void send(SequencedEvent event, String topic) {
+            if (event.getSequence() <= lastSequence) {
+                return;
+            }
+            lastSequence = event.getSequence();
+            enqueue(SseEmitter.event()
+                    .id(String.valueOf(event.getSequence()))
+                    .name(eventName(topic))
+                    .data(event));
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS) {
+                logger.debug("Closing slow SSE client with {} pending events", pendingCount.get());
+                clients.remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                    lastWrite = System.currentTimeMillis();
+                }
+            } catch (IOException | IllegalStateException e) {
+                clients.remove(this);
+                pending.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have arrived after the last poll but before the flag was cleared
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.procureflow.service;
+
+/**
+ * User Changed Event
+ * Published when a user's profile, password, roles or active flag change,
+ * so anything caching the user or its tokens can drop stale entries
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+
+    public UserChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
@@ -0,0 +1,99 @@
+package com.procureflow.service;
+
+import com.procureflow.security.services.UserPrincipal;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket Session Registry
+ * Tracks which STOMP sessions belong to which authenticated user, keyed by user id
+ * so services holding only ids can route personal events without a user lookup
+ */
+@Service
+public class WebSocketSessionRegistry {
+
+    private final Map<Long, UserSessions> sessionsByUserId = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdBySession = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdByUsername = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        UserPrincipal principal = userPrincipal(event.getUser());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (principal == null || sessionId == null) {
+            return;
+        }
+
+        sessionsByUserId.compute(principal.getId(), (id, existing) -> {
+            UserSessions sessions = existing != null ? existing : new UserSessions(principal.getUsername());
+            sessions.sessionIds().add(sessionId);
+            userIdByUsername.put(principal.getUsername(), principal.getId());
+            return sessions;
+        });
+        userIdBySession.put(sessionId, principal.getId());
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Long userId = userIdBySession.remove(event.getSessionId());
+        if (userId == null) {
+            return;
+        }
+
+        sessionsByUserId.computeIfPresent(userId, (id, sessions) -> {
+            sessions.sessionIds().remove(event.getSessionId());
+            if (!sessions.sessionIds().isEmpty()) {
+                return sessions;
+            }
+            userIdByUsername.remove(sessions.username());
+            return null;
+        });
+    }
+
+    /**
+     * Username to route to, present only while the user has an open session
+     */
+    public Optional<String> findConnectedUsername(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        UserSessions sessions = sessionsByUserId.get(userId);
+        return sessions == null ? Optional.empty() : Optional.of(sessions.username());
+    }
+
+    public boolean isConnected(String username) {
+        return username != null && userIdByUsername.containsKey(username);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connectedUsers", sessionsByUserId.size());
+        stats.put("authenticatedSessions", userIdBySession.size());
+        return stats;
+    }
+
+    private UserPrincipal userPrincipal(Principal user) {
+        if (user instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+
+    private record UserSessions(String username, Set<String> sessionIds) {
+        UserSessions(String username) {
+            this(username, ConcurrentHashMap.newKeySet());
+        }
+    }
+}
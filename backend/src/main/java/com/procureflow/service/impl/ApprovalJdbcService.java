@@ -1,10 +1,15 @@
 package com.procureflow.service.impl;
 
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
 import com.procureflow.entity.Approval;
 import com.procureflow.entity.ApprovalStatus;
 import com.procureflow.repository.jdbc.ApprovalJdbcRepository;
+import com.procureflow.security.services.PermissionDecisionCache;
 import com.procureflow.service.ApprovalService;
+import com.procureflow.service.ResourceChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,9 +26,17 @@ import java.util.Optional;
 @Transactional
 public class ApprovalJdbcService implements ApprovalService {
 
+    public static final String RESOURCE_TYPE = "Approval";
+
     @Autowired
     private ApprovalJdbcRepository approvalRepository;
 
+    @Autowired
+    private PermissionDecisionCache permissionDecisionCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Optional<Approval> findById(Long id) {
         return approvalRepository.findById(id);
@@ -62,23 +75,27 @@ public class ApprovalJdbcService implements ApprovalService {
         }
 
         Long id = approvalRepository.createApproval(approval);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, id));
         return approvalRepository.findById(id).orElse(approval);
     }
 
     @Override
     public Approval updateApproval(Approval approval) {
         approvalRepository.updateApproval(approval);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, approval.getId()));
         return approvalRepository.findById(approval.getId()).orElse(approval);
     }
 
     @Override
     public void updateApprovalStatus(Long id, ApprovalStatus status, String comments) {
         approvalRepository.updateApprovalStatus(id, status, comments);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, id));
     }
 
     @Override
     public void deleteById(Long id) {
         approvalRepository.deleteById(id);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, id));
     }
 
     @Override
@@ -92,21 +109,29 @@ public class ApprovalJdbcService implements ApprovalService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Double getAverageApprovalTimeInHours() {
         return approvalRepository.getAverageApprovalTimeInHours();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Map<String, Object> getApprovalStatistics() {
         return approvalRepository.getApprovalStatistics();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<Map<String, Object>> getApprovalCountByStatus() {
         return approvalRepository.getApprovalCountByStatus();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<Map<String, Object>> getApprovalCountByLevel() {
         return approvalRepository.getApprovalCountByLevel();
     }
@@ -204,6 +229,11 @@ public class ApprovalJdbcService implements ApprovalService {
     }
 
     public boolean isUserAuthorizedToApprove(Long approvalId, Long userId) {
+        return permissionDecisionCache.decide(userId, RESOURCE_TYPE, approvalId, "APPROVE",
+                () -> checkUserAuthorizedToApprove(approvalId, userId));
+    }
+
+    private boolean checkUserAuthorizedToApprove(Long approvalId, Long userId) {
         Optional<Approval> approvalOpt = approvalRepository.findById(approvalId);
         if (approvalOpt.isEmpty()) {
             return false;
@@ -233,6 +263,8 @@ public class ApprovalJdbcService implements ApprovalService {
                 .anyMatch(approval -> approval.getStatus() == ApprovalStatus.REJECTED);
     }
 
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Map<String, Object> getDashboardStatistics() {
         return approvalRepository.getApprovalStatistics();
     }
@@ -257,10 +289,14 @@ public class ApprovalJdbcService implements ApprovalService {
         }
     }
 
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<Map<String, Object>> getApprovalPerformanceMetrics() {
         return approvalRepository.getApprovalCountByLevel();
     }
 
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Double getAverageApprovalTimeForUser(Long userId) {
         // This would require additional query in repository
         // For now, return overall average
@@ -1,10 +1,16 @@
 package com.procureflow.service.impl;
 
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
 import com.procureflow.entity.OrderStatus;
 import com.procureflow.entity.PurchaseOrder;
 import com.procureflow.repository.jdbc.PurchaseOrderJdbcRepository;
+import com.procureflow.security.services.PermissionDecisionCache;
+import com.procureflow.service.NumberSequenceService;
 import com.procureflow.service.PurchaseOrderService;
+import com.procureflow.service.ResourceChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,9 +27,20 @@ import java.util.Optional;
 @Transactional
 public class PurchaseOrderJdbcService implements PurchaseOrderService {
 
+    public static final String RESOURCE_TYPE = "PurchaseOrder";
+
     @Autowired
     private PurchaseOrderJdbcRepository purchaseOrderRepository;
 
+    @Autowired
+    private PermissionDecisionCache permissionDecisionCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private NumberSequenceService numberSequenceService;
+
     @Override
     public Optional<PurchaseOrder> findById(Long id) {
         return purchaseOrderRepository.findById(id);
@@ -56,6 +73,8 @@ public class PurchaseOrderJdbcService implements PurchaseOrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public long getTotalCount(OrderStatus status, String search) {
         return purchaseOrderRepository.getTotalCount(status, search);
     }
@@ -74,7 +93,8 @@ public class PurchaseOrderJdbcService implements PurchaseOrderService {
     public PurchaseOrder createPurchaseOrder(PurchaseOrder order) {
         // Generate order number if not provided
         if (order.getOrderNumber() == null || order.getOrderNumber().isEmpty()) {
-            order.setOrderNumber(purchaseOrderRepository.generateOrderNumber());
+            order.setOrderNumber(numberSequenceService.nextOrderNumber(
+                    order.getPurchaseRequest() != null ? order.getPurchaseRequest().getDepartment() : null));
         }
 
         // Set default status if not provided
@@ -83,38 +103,46 @@ public class PurchaseOrderJdbcService implements PurchaseOrderService {
         }
 
         Long id = purchaseOrderRepository.createPurchaseOrder(order);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, id));
         return purchaseOrderRepository.findById(id).orElse(order);
     }
 
     @Override
     public PurchaseOrder updatePurchaseOrder(PurchaseOrder order) {
         purchaseOrderRepository.updatePurchaseOrder(order);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, order.getId()));
         return purchaseOrderRepository.findById(order.getId()).orElse(order);
     }
 
     @Override
     public void updateStatus(Long id, OrderStatus status) {
         purchaseOrderRepository.updateStatus(id, status);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, id));
     }
 
     @Override
     public void deleteById(Long id) {
         purchaseOrderRepository.deleteById(id);
+        eventPublisher.publishEvent(new ResourceChangedEvent(RESOURCE_TYPE, id));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Map<String, Object> getOrderStatistics() {
         return purchaseOrderRepository.getOrderStatistics();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<Map<String, Object>> getOrderCountByStatus() {
         return purchaseOrderRepository.getOrderCountByStatus();
     }
 
     @Override
     public String generateOrderNumber() {
-        return purchaseOrderRepository.generateOrderNumber();
+        return numberSequenceService.nextOrderNumber(null);
     }
 
     // Additional business logic methods
@@ -239,11 +267,18 @@ public class PurchaseOrderJdbcService implements PurchaseOrderService {
         return purchaseOrderRepository.findOverdueOrders();
     }
 
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Map<String, Object> getDashboardStatistics() {
         return purchaseOrderRepository.getOrderStatistics();
     }
 
     public boolean canUserModifyOrder(Long orderId, Long userId) {
+        return permissionDecisionCache.decide(userId, RESOURCE_TYPE, orderId, "MODIFY",
+                () -> checkUserCanModifyOrder(orderId, userId));
+    }
+
+    private boolean checkUserCanModifyOrder(Long orderId, Long userId) {
         Optional<PurchaseOrder> orderOpt = purchaseOrderRepository.findById(orderId);
         if (orderOpt.isEmpty()) {
             return false;
@@ -1,10 +1,13 @@
 package com.procureflow.service.impl;
 
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
 import com.procureflow.dto.request.PurchaseRequestDTO;
 import com.procureflow.entity.Priority;
 import com.procureflow.entity.RequestStatus;
 import com.procureflow.repository.jdbc.PurchaseRequestJdbcRepository;
 import com.procureflow.security.services.UserPrincipal;
+import com.procureflow.service.NumberSequenceService;
 import com.procureflow.service.PurchaseRequestService;
 import com.procureflow.service.RealTimeNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Optimized JDBC-based Purchase Request Service
@@ -34,15 +39,18 @@ public class PurchaseRequestJdbcService implements PurchaseRequestService {
     @Autowired
     private RealTimeNotificationService notificationService;
 
+    @Autowired
+    private NumberSequenceService numberSequenceService;
+
     @Override
     public PurchaseRequestDTO create(PurchaseRequestDTO requestDTO) {
         UserPrincipal userPrincipal = getCurrentUser();
+        requestDTO.setRequestNumber(numberSequenceService.nextRequestNumber(requestDTO.getDepartment()));
         
-        // Create the request
-        Long requestId = jdbcRepository.createPurchaseRequest(requestDTO, userPrincipal.getId());
-        
-        // Retrieve the created request with full details
-        PurchaseRequestDTO createdRequest = findById(requestId);
+        // Header and items in this transaction; the repository returns the aggregate as written
+        PurchaseRequestDTO createdRequest = jdbcRepository.createPurchaseRequest(requestDTO, userPrincipal.getId());
+        createdRequest.setRequestedByName(userPrincipal.getFirstName() + " " + userPrincipal.getLastName());
+        createdRequest.setRequestedByEmail(userPrincipal.getEmail());
         
         // Send real-time notification
         notificationService.broadcastPurchaseRequestUpdate(createdRequest, "CREATED");
@@ -59,16 +67,15 @@ public class PurchaseRequestJdbcService implements PurchaseRequestService {
 
     @Override
     public PurchaseRequestDTO findById(Long id) {
-        List<PurchaseRequestDTO> results = jdbcRepository.findByMultipleCriteria(
-            null, null, null, null, 0, 1
-        );
-        
-        return results.stream()
-            .filter(r -> r.getId().equals(id))
-            .findFirst()
+        return jdbcRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Purchase request not found"));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<PurchaseRequestDTO> findByRequestNumber(String requestNumber) {
+        return jdbcRepository.findByRequestNumber(requestNumber.trim().toUpperCase(Locale.ROOT));
+    }
+
     @Override
     public Page<PurchaseRequestDTO> findAll(Pageable pageable) {
         List<PurchaseRequestDTO> requests = jdbcRepository.findPaginated(
@@ -112,6 +119,8 @@ public class PurchaseRequestJdbcService implements PurchaseRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Page<PurchaseRequestDTO> findByMultipleCriteria(
             RequestStatus status, String department, Priority priority, 
             Long requesterId, Pageable pageable) {
@@ -128,6 +137,8 @@ public class PurchaseRequestJdbcService implements PurchaseRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Page<PurchaseRequestDTO> searchRequests(String searchTerm, Pageable pageable) {
         List<PurchaseRequestDTO> requests = jdbcRepository.searchRequests(
             searchTerm,
@@ -176,6 +187,8 @@ public class PurchaseRequestJdbcService implements PurchaseRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Map<String, Object> getStatistics() {
         Map<String, Object> stats = jdbcRepository.getStatistics();
         
@@ -198,6 +211,8 @@ public class PurchaseRequestJdbcService implements PurchaseRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<String> getAllDepartments() {
         return List.of("IT", "HR", "Finance", "Marketing", "Operations", "Admin");
     }
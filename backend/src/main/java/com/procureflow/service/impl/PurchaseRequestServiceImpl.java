@@ -4,6 +4,7 @@ import com.procureflow.entity.PurchaseRequest;
 import com.procureflow.entity.RequestStatus;
 import com.procureflow.entity.Priority;
 import com.procureflow.repository.jdbc.PurchaseRequestJdbcRepository;
+import com.procureflow.service.NumberSequenceService;
 import com.procureflow.service.PurchaseRequestService;
 import com.procureflow.service.RealTimeNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +37,9 @@ public class PurchaseRequestServiceImpl implements PurchaseRequestService {
     @Autowired
     private RealTimeNotificationService notificationService;
 
+    @Autowired
+    private NumberSequenceService numberSequenceService;
+
     @Override
     public PurchaseRequestDTO create(PurchaseRequestDTO requestDTO) {
         PurchaseRequest request = convertToEntity(requestDTO);
@@ -288,6 +292,9 @@ public class PurchaseRequestServiceImpl implements PurchaseRequestService {
         request.setJustification(dto.getJustification());
         request.setExpectedDeliveryDate(dto.getExpectedDeliveryDate());
         request.setTotalAmount(dto.getTotalAmount() != null ? dto.getTotalAmount() : BigDecimal.ZERO);
+        // Same PR-<year> sequence as the JDBC path, so rows never land without a number
+        request.setRequestNumber(dto.getRequestNumber() != null
+                ? dto.getRequestNumber() : numberSequenceService.nextRequestNumber(dto.getDepartment()));
 
         // Convert items
         if (dto.getItems() != null) {
@@ -1,5 +1,7 @@
 package com.procureflow.service.impl;
 
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
 import com.procureflow.entity.ERole;
 import com.procureflow.entity.Role;
 import com.procureflow.repository.jdbc.RoleJdbcRepository;
@@ -83,6 +85,8 @@ public class RoleJdbcService implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<Object[]> getRoleStatistics() {
         return roleRepository.getRoleStatistics();
     }
@@ -139,6 +143,8 @@ public class RoleJdbcService implements RoleService {
                 .orElseThrow(() -> new RuntimeException("Manager role not found"));
     }
 
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<Object[]> getRoleUsageReport() {
         return roleRepository.getRoleStatistics();
     }
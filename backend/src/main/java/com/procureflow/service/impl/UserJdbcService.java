@@ -1,11 +1,17 @@
 package com.procureflow.service.impl;
 
+import com.procureflow.config.Workload;
+import com.procureflow.config.WorkloadClass;
 import com.procureflow.entity.User;
 import com.procureflow.repository.jdbc.UserJdbcRepository;
 import com.procureflow.repository.jdbc.RoleJdbcRepository;
+import com.procureflow.security.services.CredentialService;
+import com.procureflow.security.services.PermissionDecisionCache;
+import com.procureflow.security.services.RefreshTokenService;
+import com.procureflow.service.UserChangedEvent;
 import com.procureflow.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,7 +34,16 @@ public class UserJdbcService implements UserService {
     private RoleJdbcRepository roleRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private PermissionDecisionCache permissionDecisionCache;
 
     @Override
     public Optional<User> findById(Long id) {
@@ -66,6 +81,8 @@ public class UserJdbcService implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<User> searchActiveUsers(String search, int page, int size) {
         return userRepository.searchActiveUsers(search, page, size);
     }
@@ -93,7 +110,7 @@ public class UserJdbcService implements UserService {
 
         // Encode password
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            user.setPassword(credentialService.encode(user.getPassword()));
         }
 
         // Set default active status
@@ -131,6 +148,7 @@ public class UserJdbcService implements UserService {
         user.setPassword(existing.getPassword());
 
         userRepository.updateUser(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         return userRepository.findById(user.getId()).orElse(user);
     }
 
@@ -140,18 +158,23 @@ public class UserJdbcService implements UserService {
             throw new RuntimeException("Password cannot be empty");
         }
 
-        String encodedPassword = passwordEncoder.encode(newPassword);
+        String encodedPassword = credentialService.encode(newPassword);
         userRepository.updatePassword(userId, encodedPassword);
+        refreshTokenService.revokeAllForUser(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     @Override
     public void deactivateUser(Long userId) {
         userRepository.deactivateUser(userId);
+        refreshTokenService.revokeAllForUser(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     @Override
     public void activateUser(Long userId) {
         userRepository.activateUser(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     @Override
@@ -159,14 +182,19 @@ public class UserJdbcService implements UserService {
         // Check if user can be deleted (no references in other tables)
         // This is a soft implementation - in production you'd check for dependencies
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Map<String, Object> getUserStatistics() {
         return userRepository.getUserStatistics();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public List<Map<String, Object>> getUserCountByDepartment() {
         return userRepository.getUserCountByDepartment();
     }
@@ -177,6 +205,8 @@ public class UserJdbcService implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public long getSearchActiveUserCount(String search) {
         return userRepository.getSearchActiveUserCount(search);
     }
@@ -184,11 +214,13 @@ public class UserJdbcService implements UserService {
     @Override
     public void addRoleToUser(Long userId, Integer roleId) {
         userRepository.addRoleToUser(userId, roleId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     @Override
     public void removeRoleFromUser(Long userId, Integer roleId) {
         userRepository.removeRoleFromUser(userId, roleId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     @Override
@@ -252,7 +284,7 @@ public class UserJdbcService implements UserService {
             return false;
         }
 
-        return passwordEncoder.matches(password, userOpt.get().getPassword());
+        return credentialService.matches(password, userOpt.get().getPassword());
     }
 
     public boolean isUserActive(Long userId) {
@@ -261,8 +293,8 @@ public class UserJdbcService implements UserService {
     }
 
     public boolean hasRole(Long userId, String roleName) {
-        List<String> userRoles = userRepository.getUserRoles(userId);
-        return userRoles.contains(roleName);
+        return permissionDecisionCache.decide(userId, "Role", roleName, "HAS",
+                () -> userRepository.getUserRoles(userId).contains(roleName));
     }
 
     public List<User> findManagersInDepartment(String department) {
@@ -275,6 +307,8 @@ public class UserJdbcService implements UserService {
         return userRepository.findByRoleNameAndIsActiveTrue("ROLE_MANAGER");
     }
 
+    @Transactional(readOnly = true)
+    @Workload(WorkloadClass.REPORTING)
     public Map<String, Object> getDashboardStatistics() {
         return userRepository.getUserStatistics();
     }
@@ -298,6 +332,7 @@ public class UserJdbcService implements UserService {
             var role = roleRepository.findByName(com.procureflow.entity.ERole.valueOf(newRole.toUpperCase()));
             if (role.isPresent()) {
                 userRepository.addRoleToUser(userId, role.get().getId());
+                eventPublisher.publishEvent(new UserChangedEvent(userId));
             } else {
                 throw new RuntimeException("Role not found: " + newRole);
             }
@@ -315,6 +350,6 @@ public class UserJdbcService implements UserService {
     public boolean canUserAccessResource(Long userId, String resource) {
         // Implementation would depend on your authorization logic
         // For now, just check if user is active
-        return isUserActive(userId);
+        return permissionDecisionCache.decide(userId, "Resource", resource, "ACCESS", () -> isUserActive(userId));
     }
 }
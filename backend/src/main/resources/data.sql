@@ -84,6 +84,11 @@ VALUES('Employee Training Programs', 'Professional development and certification
 INSERT IGNORE INTO purchase_requests(title, description, department, priority, status, total_amount, justification, expected_delivery_date, requested_by, created_at, updated_at)
 VALUES('Accounting Software License', 'Tally Prime multi-user license for finance team', 'Finance', 'HIGH', 'COMPLETED', 185000.00, 'Upgrade from Tally ERP to Tally Prime for better GST compliance and reporting.', DATE_SUB(NOW(), INTERVAL 1 WEEK), 5, DATE_SUB(NOW(), INTERVAL 10 DAY), DATE_SUB(NOW(), INTERVAL 2 DAY));
 
+-- Seeded requests keep the legacy PR-000123 numbers; new requests draw from the PR-<year> sequence
+UPDATE purchase_requests SET request_number = CONCAT('PR-', LPAD(id, 6, '0')) WHERE request_number IS NULL;
+INSERT IGNORE INTO number_sequences(name, next_value, updated_at)
+SELECT 'PR', COALESCE(MAX(id), 0) + 1, NOW() FROM purchase_requests;
+
 -- Insert Request Items (All prices in Indian Rupees ₹)
 INSERT IGNORE INTO request_items(item_name, description, quantity, unit_price, total_price, specifications, preferred_supplier, purchase_request_id)
 VALUES('Dell Inspiron 15 3000', 'Dell laptop with Intel i5, 8GB RAM, 512GB SSD', 7, 65000.00, 455000.00, 'Intel i5-1135G7, 8GB DDR4, 512GB SSD, 15.6" FHD Display', 'Dell India', 1);
@@ -0,0 +1,26 @@
+-- Refresh token and access token revocation tables
+-- Required where spring.jpa.hibernate.ddl-auto is validate (default and prod profiles)
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used_at DATETIME(6) NULL,
+    revoked BIT NOT NULL DEFAULT 0,
+    created_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_rt_token_hash UNIQUE (token_hash),
+    INDEX idx_rt_family (family_id),
+    INDEX idx_rt_user (user_id),
+    INDEX idx_rt_expires_at (expires_at)
+);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    INDEX idx_revoked_at (revoked_at),
+    INDEX idx_revoked_expires_at (expires_at)
+);
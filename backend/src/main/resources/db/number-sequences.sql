@@ -0,0 +1,15 @@
+-- Business number sequences (hi/lo block allocation, see NumberSequenceService)
+-- Required where spring.jpa.hibernate.ddl-auto is validate (default and prod profiles)
+
+CREATE TABLE IF NOT EXISTS number_sequences (
+    name VARCHAR(64) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL
+);
+
+-- Only for procureflow.app.orderNumberScope=none: continue after the existing
+-- PO-000123 style numbers instead of starting again at 1
+INSERT IGNORE INTO number_sequences (name, next_value, updated_at)
+SELECT 'PO', COALESCE(MAX(CAST(SUBSTRING(order_number, 4) AS UNSIGNED)), 0) + 1, NOW()
+FROM purchase_orders
+WHERE order_number REGEXP '^PO-[0-9]+$';
@@ -50,6 +50,18 @@ ADD INDEX idx_users_created_at (created_at),
 ADD INDEX idx_users_active_dept (is_active, department),
 ADD INDEX idx_users_name_search (first_name, last_name);
 
+-- Sort indexes backing the whitelisted ORDER BY keys (SortableQuery)
+ALTER TABLE purchase_requests
+ADD INDEX idx_pr_updated_at (updated_at),
+ADD INDEX idx_pr_expected_delivery (expected_delivery_date);
+
+ALTER TABLE purchase_orders
+ADD INDEX idx_po_updated_at (updated_at),
+ADD INDEX idx_po_total_amount (total_amount);
+
+ALTER TABLE users
+ADD INDEX idx_users_last_name (last_name);
+
 -- User Roles table indexes
 ALTER TABLE user_roles 
 ADD INDEX idx_ur_user_id (user_id),
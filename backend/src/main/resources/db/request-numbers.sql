@@ -0,0 +1,22 @@
+-- Stored purchase request numbers
+-- Required where spring.jpa.hibernate.ddl-auto is validate (default and prod profiles)
+
+ALTER TABLE purchase_requests
+ADD COLUMN request_number VARCHAR(32) NULL AFTER id;
+
+-- Existing requests keep the number they were shown with (PR-000123); new ones
+-- come from the PR-<year> sequences (see NumberSequenceService), so the two never collide
+UPDATE purchase_requests
+SET request_number = CONCAT('PR-', LPAD(id, 6, '0'))
+WHERE request_number IS NULL;
+
+-- Only for procureflow.app.requestNumberScope=none: continue after the backfilled
+-- PR-000123 numbers instead of reissuing them (run after number-sequences.sql)
+INSERT IGNORE INTO number_sequences (name, next_value, updated_at)
+SELECT 'PR', COALESCE(MAX(CAST(SUBSTRING(request_number, 4) AS UNSIGNED)), 0) + 1, NOW()
+FROM purchase_requests
+WHERE request_number REGEXP '^PR-[0-9]+$';
+
+-- Unique index: O(1) lookup by number and prefix range scans for search
+ALTER TABLE purchase_requests
+ADD CONSTRAINT uk_pr_request_number UNIQUE (request_number);